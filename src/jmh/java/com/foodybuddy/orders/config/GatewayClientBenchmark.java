@@ -0,0 +1,116 @@
+package com.foodybuddy.orders.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway status notifications per second sent one after another, as the outbox dispatcher does, to an
+ * in-process stub gateway. Compares the unpooled SimpleClientHttpRequestFactory the service used before
+ * with the clients RestTemplateConfig builds: the pooled Apache HttpClient and the JDK HttpClient
+ * (HTTP/2 when enabled; the stub only speaks HTTP/1.1, so this measures its HTTP/1.1 fallback).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Without TCP_NODELAY the stub's separate header and body writes stall on delayed ACKs (~40ms per request)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class GatewayClientBenchmark {
+
+    private static final String STATUS_PATH = "/api/gateway/orders/status";
+    private static final byte[] OK_BODY = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"simple", "pooled", "http2"})
+    private String client;
+
+    private HttpServer gateway;
+    private AnnotationConfigApplicationContext context;
+    private RestTemplate restTemplate;
+    private String statusUrl;
+    private HttpEntity<Map<String, Object>> notification;
+
+    @Setup
+    public void setUp() throws IOException {
+        gateway = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        gateway.createContext(STATUS_PATH, GatewayClientBenchmark::handle);
+        gateway.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        gateway.start();
+        statusUrl = "http://localhost:" + gateway.getAddress().getPort() + STATUS_PATH;
+
+        if ("simple".equals(client)) {
+            restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        } else {
+            context = new AnnotationConfigApplicationContext();
+            // Binds the gateway.http.* durations as the application does
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                    Map.of("gateway.http.http2-enabled", String.valueOf("http2".equals(client)))));
+            context.register(RestTemplateConfig.class);
+            context.refresh();
+            restTemplate = context.getBean(RestTemplate.class);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("orderId", "01a14ec1-a844-7000-b3a8-670331fe7bb2");
+        body.put("status", "CONFIRMED");
+        body.put("message", "Order status updated from PENDING to CONFIRMED");
+        body.put("updatedBy", "order-service");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        notification = new HttpEntity<>(body, headers);
+    }
+
+    @Benchmark
+    public String notifyGateway() {
+        return restTemplate.postForObject(statusUrl, notification, String.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        gateway.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, OK_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(OK_BODY);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.foodybuddy.orders.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization of the order payloads, using an ObjectMapper
+ * configured the same way Spring Boot configures the one used by the controllers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int cartSize;
+
+    private ObjectMapper objectMapper;
+    private OrderResponse orderResponse;
+    private CreateOrderRequest createOrderRequest;
+    private byte[] orderResponseJson;
+    private byte[] createOrderRequestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<OrderResponse.OrderItemResponse> itemResponses = new ArrayList<>(cartSize);
+        List<CreateOrderRequest.OrderItemRequest> itemRequests = new ArrayList<>(cartSize);
+        double total = 0;
+        for (int i = 0; i < cartSize; i++) {
+            int quantity = 1 + i % 3;
+            double price = 4.5 + i;
+            itemResponses.add(new OrderResponse.OrderItemResponse((long) i + 1, "item-" + i, "Menu item " + i, quantity, price));
+            itemRequests.add(new CreateOrderRequest.OrderItemRequest("item-" + i, "Menu item " + i, quantity, price));
+            total += price * quantity;
+        }
+
+        orderResponse = new OrderResponse(1L, "ORD-BENCH-1", "user-1", itemResponses, total, OrderStatus.PENDING,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+        createOrderRequest = new CreateOrderRequest("user-1", itemRequests, total);
+        orderResponseJson = objectMapper.writeValueAsBytes(orderResponse);
+        createOrderRequestJson = objectMapper.writeValueAsBytes(createOrderRequest);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public OrderResponse deserializeOrderResponse() throws Exception {
+        return objectMapper.readValue(orderResponseJson, OrderResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeCreateOrderRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(createOrderRequest);
+    }
+
+    @Benchmark
+    public CreateOrderRequest deserializeCreateOrderRequest() throws Exception {
+        return objectMapper.readValue(createOrderRequestJson, CreateOrderRequest.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.foodybuddy.orders.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the order status transition check, evaluated over every (from, to) pair
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderStatusBenchmark {
+
+    private final OrderStatus[] statuses = OrderStatus.values();
+
+    @Benchmark
+    public void canTransitionTo(Blackhole blackhole) {
+        for (OrderStatus from : statuses) {
+            for (OrderStatus to : statuses) {
+                blackhole.consume(from.canTransitionTo(to));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.FoodybuddyOrdersApplication;
+import com.foodybuddy.orders.dto.CreateOrderRequest;
+import com.foodybuddy.orders.dto.OrderResponse;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of OrderService.createOrder for one order with its items, through the real persistence path: the
+ * application context is booted against an embedded Postgres migrated by Flyway, so the entity mapping, id
+ * sequences, partitioned tables, order id claim and time readback are all those of production.
+ * jdbcBatchSize 1 sends one INSERT per item, the configured 50 sends the items in JDBC batches rewritten
+ * into multi-row inserts by reWriteBatchedInserts. Score is microseconds per created order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderCreateInsertBenchmark {
+
+    @Param({"3", "20", "100"})
+    private int cartSize;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA orders");
+        }
+        context = SpringApplication.run(FoodybuddyOrdersApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=orders&reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--orders.events.cross-replica.enabled=false",
+                "--gateway.url=http://localhost:1",
+                "--logging.file.name=",
+                "--logging.level.root=WARN",
+                "--logging.level.com.foodybuddy.orders=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>(cartSize);
+        double total = 0;
+        for (int i = 0; i < cartSize; i++) {
+            int quantity = 1 + i % 3;
+            double price = 4.5 + i;
+            items.add(new CreateOrderRequest.OrderItemRequest("item-" + i, "Menu item " + i, quantity, price));
+            total += quantity * price;
+        }
+        request = new CreateOrderRequest("bench-user", items, total);
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
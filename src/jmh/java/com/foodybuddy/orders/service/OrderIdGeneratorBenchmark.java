@@ -0,0 +1,69 @@
+package com.foodybuddy.orders.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order id generation rate of the random and time-ordered generators, uncontended, with 8 threads
+ * sharing one generator as request threads do, and from short-lived virtual threads issuing one id each
+ * as virtual-thread request handling does (this score includes starting and joining the threads)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderIdGeneratorBenchmark {
+
+    private static final int VIRTUAL_THREADS = 100;
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    private OrderIdGenerator orderIdGenerator;
+
+    @Setup
+    public void setUp() {
+        orderIdGenerator = OrderIdGenerators.create(generator);
+    }
+
+    @Benchmark
+    public String nextId() {
+        return orderIdGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nextIdContended() {
+        return orderIdGenerator.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIRTUAL_THREADS)
+    public String[] nextIdVirtualThreads() throws InterruptedException {
+        String[] ids = new String[VIRTUAL_THREADS];
+        Thread[] threads = new Thread[VIRTUAL_THREADS];
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            int index = i;
+            threads[i] = Thread.ofVirtual().start(() -> ids[index] = orderIdGenerator.nextId());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,18 @@
+package com.foodybuddy.orders.service;
+
+/**
+ * Generator lookup by the orders.id.generator property value
+ */
+final class OrderIdGenerators {
+
+    private OrderIdGenerators() {
+    }
+
+    static OrderIdGenerator create(String name) {
+        return switch (name) {
+            case "random" -> new RandomOrderIdGenerator();
+            case "time-ordered" -> new TimeOrderedOrderIdGenerator();
+            default -> throw new IllegalArgumentException("Unknown order id generator: " + name);
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.foodybuddy.orders.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a table with a unique order_id index, as on the orders table, for random and
+ * time-ordered ids. The table is prefilled so the index is deeper than one page; random ids then dirty
+ * pages all over the index while time-ordered ids keep appending to its right edge.
+ * Score is ids inserted per second, in JDBC batches of {@value #BATCH_SIZE}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    @Param({"500000"})
+    private int prefill;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private OrderIdGenerator orderIdGenerator;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        orderIdGenerator = OrderIdGenerators.create(generator);
+        postgres = EmbeddedPostgres.builder().start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE order_ids (id BIGSERIAL PRIMARY KEY, order_id VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE UNIQUE INDEX ux_order_ids_order_id ON order_ids (order_id)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO order_ids (order_id) VALUES (?)");
+        for (int i = 0; i < prefill; i += BATCH_SIZE) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute("VACUUM ANALYZE order_ids");
+            connection.setAutoCommit(false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, orderIdGenerator.nextId());
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        postgres.close();
+    }
+}
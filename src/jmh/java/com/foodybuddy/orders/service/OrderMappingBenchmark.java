@@ -0,0 +1,65 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.entity.Order;
+import com.foodybuddy.orders.entity.OrderItem;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the entity to response mapping and the order total calculation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int cartSize;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            OrderItem item = new OrderItem("item-" + i, "Menu item " + i, 1 + i % 3, 4.5 + i);
+            item.setId((long) i + 1);
+            items.add(item);
+        }
+
+        order = new Order("ORD-BENCH-1", items, OrderService.calculateTotal(items), OrderStatus.PENDING);
+        order.setId(1L);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        items.forEach(item -> item.setOrder(order));
+    }
+
+    @Benchmark
+    public OrderResponse convertToResponse() {
+        return OrderService.convertToResponse(order);
+    }
+
+    @Benchmark
+    public Double calculateTotal() {
+        return OrderService.calculateTotal(order.getItems());
+    }
+}
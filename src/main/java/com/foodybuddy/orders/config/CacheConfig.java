@@ -0,0 +1,34 @@
+package com.foodybuddy.orders.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * OrderResponse by orderId, sized and expired through spring.cache.caffeine.spec
+     */
+    public static final String ORDERS_CACHE = "orders";
+
+    /**
+     * Publish hit/miss/eviction metrics for the orders cache.
+     * Spring Boot only binds caches eagerly, which never happens with lazy initialization enabled;
+     * the tags match Boot's own binding so both can coexist.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public MeterBinder ordersCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            Cache<Object, Object> nativeCache = (Cache<Object, Object>) cacheManager.getCache(ORDERS_CACHE).getNativeCache();
+            CaffeineCacheMetrics.monitor(registry, nativeCache, ORDERS_CACHE, Tags.of("cache.manager", "cacheManager"));
+        };
+    }
+}
@@ -1,19 +1,97 @@
 package com.foodybuddy.orders.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(RestTemplateConfig.class);
+
+    @Value("${gateway.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${gateway.http.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${gateway.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${gateway.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${gateway.http.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${gateway.http.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${gateway.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean
+    public RestTemplate restTemplate(ClientHttpRequestFactory gatewayRequestFactory) {
+        return new RestTemplate(gatewayRequestFactory);
+    }
+
+    /**
+     * Request factory for gateway calls.
+     * Uses a pooled Apache HttpClient with keep-alive and idle eviction, or the JDK HttpClient
+     * (which negotiates HTTP/2 where the gateway supports it) when gateway.http.http2-enabled is set.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 seconds connection timeout
-        factory.setReadTimeout(10000);   // 10 seconds read timeout
-        
-        return new RestTemplate(factory);
+    public ClientHttpRequestFactory gatewayRequestFactory() {
+        if (http2Enabled) {
+            logger.info("Gateway HTTP client: JDK HttpClient with HTTP/2");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout)
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+
+        logger.info("Gateway HTTP client: pooled Apache HttpClient - Max connections: {}, per route: {}, keep-alive: {}",
+            maxConnections, maxConnectionsPerRoute, keepAlive);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,79 @@
 package com.foodybuddy.orders.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodybuddy.orders.dto.BatchOrderResponse;
 import com.foodybuddy.orders.dto.CreateOrderRequest;
+import com.foodybuddy.orders.dto.OrderChanges;
+import com.foodybuddy.orders.dto.OrderPage;
 import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.dto.OrderStatusEvent;
+import com.foodybuddy.orders.dto.OrderVersion;
 import com.foodybuddy.orders.entity.Order;
 import com.foodybuddy.orders.entity.OrderStatus;
+import com.foodybuddy.orders.service.OrderExportService;
+import com.foodybuddy.orders.service.OrderNotFoundException;
 import com.foodybuddy.orders.service.OrderService;
+import com.foodybuddy.orders.service.OrderStatusBroadcaster;
+import com.foodybuddy.orders.service.OrderStatusConflictException;
+import com.foodybuddy.orders.service.ProgressionJob;
+import com.foodybuddy.orders.service.ProgressionJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/orders")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000",
+        exposedHeaders = {OrderController.NEXT_CURSOR_HEADER, OrderController.HAS_MORE_HEADER})
 public class OrderController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String HAS_MORE_HEADER = "X-Has-More";
+    private static final int STREAM_FLUSH_INTERVAL = 1000;
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int EXPORT_RETRY_AFTER_SECONDS = 30;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final ProgressionJobService progressionJobService;
+    private final OrderStatusBroadcaster statusBroadcaster;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           ProgressionJobService progressionJobService,
+                           OrderStatusBroadcaster statusBroadcaster, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.progressionJobService = progressionJobService;
+        this.statusBroadcaster = statusBroadcaster;
+        this.objectMapper = objectMapper;
         logger.info("OrderController initialized with order service");
     }
     
@@ -47,47 +95,258 @@ public class OrderController {
         }
     }
     
+    /**
+     * Create many orders in one call.
+     * Accepts either a JSON array or an NDJSON stream of orders; both are read incrementally
+     * and persisted in batched transactions, and the response carries one result per order.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchOrderResponse> createOrdersBatch(InputStream body) throws IOException {
+        logger.info("Creating orders in batch");
+        
+        try (MappingIterator<CreateOrderRequest> requests = objectMapper.readerFor(CreateOrderRequest.class).readValues(body)) {
+            BatchOrderResponse response = orderService.createOrders(requests);
+            logger.info("Batch order creation finished - Received: {}, Created: {}, Failed: {}", 
+                response.getReceived(), response.getCreated(), response.getFailed());
+            
+            if (response.getError() != null) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            return ResponseEntity.ok(response);
+        }
+    }
+    
+    /**
+     * Get an order.
+     * The response carries an ETag (the order version) and Last-Modified; a matching If-None-Match or
+     * If-Modified-Since is answered with 304 from the version alone, without loading the order.
+     */
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> getOrder(@PathVariable String orderId) {
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable String orderId, WebRequest webRequest) {
         logger.info("Fetching order details for orderId: {}", orderId);
         
         try {
+            Optional<OrderVersion> version = isConditional(webRequest) ? orderService.findOrderVersion(orderId) : Optional.empty();
+            if (version.isPresent() && webRequest.checkNotModified(
+                    orderETag(version.get().getVersion()), lastModified(version.get().getUpdatedAt()))) {
+                logger.info("Order not modified - OrderId: {}, Version: {}", orderId, version.get().getVersion());
+                return null;
+            }
+            
             OrderResponse order = orderService.getOrder(orderId);
             logger.info("Order retrieved successfully - OrderId: {}, Status: {}", 
                 order.getOrderId(), order.getStatus());
-            return ResponseEntity.ok(order);
-        } catch (RuntimeException e) {
+            return ResponseEntity.ok()
+                    .eTag(orderETag(order.getVersion()))
+                    .lastModified(lastModified(order.getUpdatedAt()))
+                    .cacheControl(CacheControl.noCache())
+                    .body(order);
+        } catch (OrderNotFoundException e) {
             logger.error("Order not found: {}", orderId, e);
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Get orders one keyset page at a time.
+     * The cursor for the next page is returned in the X-Next-Cursor header (absent on the last page).
+     * The page carries an ETag over its order ids and versions; a matching If-None-Match is answered
+     * with 304 without loading the orders.
+     */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        logger.info("Fetching all orders");
+    public ResponseEntity<List<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        logger.info("Fetching orders page - Cursor: {}, Limit: {}", cursor, limit);
+        
+        try {
+            if (isConditional(webRequest) && webRequest.checkNotModified(orderService.getOrdersPageETag(cursor, limit))) {
+                logger.info("Orders page not modified - Cursor: {}, Limit: {}", cursor, limit);
+                return null;
+            }
+            
+            OrderPage page = orderService.getOrdersPage(cursor, limit);
+            logger.info("Retrieved {} orders successfully, has next page: {}", page.getOrders().size(), page.hasNext());
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(page.getETag())
+                    .cacheControl(CacheControl.noCache());
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getOrders());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid orders page request - Cursor: {}, Limit: {}: {}", cursor, limit, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get orders changed since a changes cursor, oldest change first.
+     * The cursor to resume from is always returned in the X-Next-Cursor header; X-Has-More tells whether
+     * more changes are already waiting. Without a cursor the feed starts from the oldest order.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<OrderResponse>> getOrderChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Fetching order changes - Since: {}, Limit: {}", since, limit);
+        
+        try {
+            OrderChanges changes = orderService.getOrderChanges(since, limit);
+            logger.info("Retrieved {} changed orders successfully, has more: {}", changes.getOrders().size(), changes.hasMore());
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, changes.getNextCursor())
+                    .header(HAS_MORE_HEADER, String.valueOf(changes.hasMore()))
+                    .cacheControl(CacheControl.noStore())
+                    .body(changes.getOrders());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid order changes request - Since: {}, Limit: {}: {}", since, limit, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Stream all orders as newline-delimited JSON.
+     * Each order is written to the socket as it is read from the database, so memory stays flat.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        logger.info("Streaming all orders as NDJSON");
+        
+        StreamingResponseBody body = outputStream -> {
+            long[] written = {0};
+            long streamed = orderService.streamAllOrders(order -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(order));
+                    outputStream.write('\n');
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+            logger.info("Streamed {} orders successfully", streamed);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Export orders created in [from, to) for finance and analytics, gzip-compressed, one line per order item.
+     * {@code from} and {@code to} are ISO dates or date-times and may be left out; repeat {@code status} to
+     * filter on several statuses. {@code format} is {@code csv} (default) or {@code ndjson}.
+     * Returns 503 with Retry-After when the maximum number of exports is already running.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) List<OrderStatus> status,
+            @RequestParam(required = false) String format) {
+        logger.info("Exporting orders - From: {}, To: {}, Status: {}, Format: {}", from, to, status, format);
+        
+        LocalDateTime fromTime;
+        LocalDateTime toTime;
+        OrderExportService.Format exportFormat;
+        try {
+            fromTime = parseExportBound(from);
+            toTime = parseExportBound(to);
+            exportFormat = OrderExportService.Format.parse(format);
+            if (fromTime != null && toTime != null && !fromTime.isBefore(toTime)) {
+                throw new IllegalArgumentException("from must be before to");
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Invalid export request - From: {}, To: {}, Format: {}: {}", from, to, format, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
         
-        List<OrderResponse> orders = orderService.getAllOrders();
-        logger.info("Retrieved {} orders successfully", orders.size());
-        return ResponseEntity.ok(orders);
+        if (!orderExportService.tryReserveSlot()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(EXPORT_RETRY_AFTER_SECONDS))
+                    .build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                GZIPOutputStream gzip = new GZIPOutputStream(outputStream, EXPORT_GZIP_BUFFER_SIZE);
+                long exported = orderExportService.exportOrders(fromTime, toTime, status, exportFormat, gzip);
+                gzip.finish();
+                logger.info("Exported {} order lines successfully", exported);
+            } finally {
+                orderExportService.releaseSlot();
+            }
+        };
+        String filename = "orders" + (from != null ? "-from-" + from : "") + (to != null ? "-to-" + to : "")
+                + (exportFormat == OrderExportService.Format.NDJSON ? ".ndjson" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(exportFormat == OrderExportService.Format.NDJSON ? MediaType.APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename.replace(':', '-') + "\"")
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
     
+    private static LocalDateTime parseExportBound(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+    
+    /**
+     * Update the status of an order.
+     * The transition must be allowed from the order's current status; pass {@code expectedStatus}
+     * to only apply the update if the order is still in that status. Conflicts return 409.
+     */
     @PutMapping("/{orderId}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable String orderId, 
-            @RequestParam OrderStatus status) {
+            @RequestParam OrderStatus status,
+            @RequestParam(required = false) OrderStatus expectedStatus) {
         logger.info("Updating order status - OrderId: {}, New Status: {}", orderId, status);
         
         try {
-            OrderResponse order = orderService.updateOrderStatus(orderId, status);
+            OrderResponse order = orderService.updateOrderStatus(orderId, status, expectedStatus);
             logger.info("Order status updated successfully - OrderId: {}, Status: {}", 
                 order.getOrderId(), order.getStatus());
             return ResponseEntity.ok(order);
-        } catch (RuntimeException e) {
+        } catch (OrderNotFoundException e) {
             logger.error("Failed to update order status - OrderId: {}", orderId, e);
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Subscribe to status changes of one order as Server-Sent Events.
+     * The first event carries the current status; later events are sent as changes commit.
+     */
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToOrderEvents(@PathVariable String orderId) {
+        logger.info("Subscribing to status events for orderId: {}", orderId);
+        
+        try {
+            SseEmitter emitter = statusBroadcaster.subscribe(orderId, () -> {
+                OrderResponse order = orderService.getOrder(orderId);
+                return new OrderStatusEvent(order.getOrderId(), order.getStatus(), null, order.getUpdatedAt());
+            });
+            return ResponseEntity.ok(emitter);
+        } catch (OrderNotFoundException e) {
+            logger.error("Order not found for event subscription: {}", orderId, e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Subscribe to status changes of all orders as Server-Sent Events
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToAllOrderEvents() {
+        logger.info("Subscribing to status events for all orders");
+        return statusBroadcaster.subscribeAll();
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         logger.debug("Health check endpoint called");
@@ -95,22 +354,38 @@ public class OrderController {
     }
     
     /**
-     * Bulk update order status - processes all status progressions automatically
+     * Bulk update order status - processes all status progressions in the background
      * 
      * This endpoint:
-     * 1. Gets all orders with target statuses (CONFIRMED, PREPARING, READY, OUT_FOR_DELIVERY)
-     * 2. Creates a map of orders by their current status
-     * 3. Updates each set of orders to their desired destination status
+     * 1. Queues a job that advances every order in CONFIRMED, PREPARING, READY and OUT_FOR_DELIVERY by one step
+     * 2. Returns 202 with the job id right away; progress is polled at /bulk-status-update/{jobId}
+     *    on the same replica, which alone tracks the job
+     * 3. Returns 409 if a bulk progression is already in progress on any replica (with the running job
+     *    when it is this replica's), or 503 if the task executor cannot take another task
      */
     @PostMapping("/bulk-status-update")
     public ResponseEntity<Map<String, Object>> bulkUpdateOrderStatus() {
         logger.info("Processing bulk order status update");
         
         try {
-            Map<String, Object> result = orderService.processAllStatusProgressions();
-            logger.info("Bulk status update completed successfully - Total orders updated: {}", 
-                result.get("totalOrdersUpdated"));
-            return ResponseEntity.ok(result);
+            ProgressionJob job = progressionJobService.submit();
+            logger.info("Bulk status update queued - JobId: {}", job.getJobId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/bulk-status-update/" + job.getJobId()))
+                    .body(job.snapshot());
+        } catch (IllegalStateException e) {
+            logger.warn("Bulk status update rejected: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            progressionJobService.findActiveJob().ifPresent(job -> errorResponse.put("job", job.snapshot()));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (TaskRejectedException e) {
+            logger.warn("Bulk status update rejected, task executor is saturated: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Bulk status update could not be queued, try again later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
         } catch (Exception e) {
             logger.error("Bulk status update failed", e);
             
@@ -121,6 +396,29 @@ public class OrderController {
         }
     }
     
+    @GetMapping("/bulk-status-update")
+    public ResponseEntity<List<Map<String, Object>>> getBulkUpdateJobs() {
+        return ResponseEntity.ok(progressionJobService.findAllJobs().stream().map(ProgressionJob::snapshot).toList());
+    }
+    
+    @GetMapping("/bulk-status-update/{jobId}")
+    public ResponseEntity<Map<String, Object>> getBulkUpdateJob(@PathVariable String jobId) {
+        return progressionJobService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(job.snapshot()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Cancel a bulk progression job. Chunks committed before the cancellation are kept.
+     */
+    @DeleteMapping("/bulk-status-update/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelBulkUpdateJob(@PathVariable String jobId) {
+        logger.info("Cancelling bulk status update - JobId: {}", jobId);
+        return progressionJobService.cancel(jobId)
+                .map(job -> ResponseEntity.accepted().body(job.snapshot()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
 
     /**
      * Simulate order status progression for testing
@@ -138,23 +436,23 @@ public class OrderController {
             switch (order.getStatus()) {
                 case PENDING:
                     logger.debug("Progression: PENDING -> CONFIRMED");
-                    order = orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED);
+                    order = orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED, order.getStatus());
                     break;
                 case CONFIRMED:
                     logger.debug("Progression: CONFIRMED -> PREPARING");
-                    order = orderService.updateOrderStatus(orderId, OrderStatus.PREPARING);
+                    order = orderService.updateOrderStatus(orderId, OrderStatus.PREPARING, order.getStatus());
                     break;
                 case PREPARING:
                     logger.debug("Progression: PREPARING -> READY");
-                    order = orderService.updateOrderStatus(orderId, OrderStatus.READY);
+                    order = orderService.updateOrderStatus(orderId, OrderStatus.READY, order.getStatus());
                     break;
                 case READY:
                     logger.debug("Progression: READY -> OUT_FOR_DELIVERY");
-                    order = orderService.updateOrderStatus(orderId, OrderStatus.OUT_FOR_DELIVERY);
+                    order = orderService.updateOrderStatus(orderId, OrderStatus.OUT_FOR_DELIVERY, order.getStatus());
                     break;
                 case OUT_FOR_DELIVERY:
                     logger.debug("Progression: OUT_FOR_DELIVERY -> DELIVERED");
-                    order = orderService.updateOrderStatus(orderId, OrderStatus.DELIVERED);
+                    order = orderService.updateOrderStatus(orderId, OrderStatus.DELIVERED, order.getStatus());
                     break;
                 default:
                     logger.warn("Cannot progress order from status: {}", order.getStatus());
@@ -164,9 +462,33 @@ public class OrderController {
             logger.info("Order progression completed - OrderId: {}, New Status: {}", 
                 order.getOrderId(), order.getStatus());
             return ResponseEntity.ok(order);
-        } catch (RuntimeException e) {
+        } catch (OrderNotFoundException e) {
             logger.error("Failed to simulate order progression - OrderId: {}", orderId, e);
             return ResponseEntity.notFound().build();
         }
     }
+    
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+    
+    private static String orderETag(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+    
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+    
+    @ExceptionHandler(OrderStatusConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleStatusConflict(OrderStatusConflictException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("orderId", e.getOrderId());
+        errorResponse.put("currentStatus", e.getCurrentStatus());
+        errorResponse.put("requestedStatus", e.getRequestedStatus());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
 }
@@ -0,0 +1,59 @@
+package com.foodybuddy.orders.controller;
+
+import com.foodybuddy.orders.dto.OrderPage;
+import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.entity.OrderStatus;
+import com.foodybuddy.orders.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/orders")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = OrderController.NEXT_CURSOR_HEADER)
+public class UserOrderController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserOrderController.class);
+    private final OrderService orderService;
+
+    public UserOrderController(OrderService orderService) {
+        this.orderService = orderService;
+        logger.info("UserOrderController initialized with order service");
+    }
+
+    /**
+     * Get a user's order history one keyset page at a time, newest first.
+     * Repeat {@code status} to filter on several statuses. The cursor for the next page is returned
+     * in the X-Next-Cursor header (absent on the last page).
+     */
+    @GetMapping
+    public ResponseEntity<List<OrderResponse>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) List<OrderStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Fetching orders page for user - UserId: {}, Status: {}, Cursor: {}, Limit: {}", userId, status, cursor, limit);
+
+        try {
+            OrderPage page = orderService.getUserOrdersPage(userId, status, cursor, limit);
+            logger.info("Retrieved {} orders for user {} successfully, has next page: {}",
+                page.getOrders().size(), userId, page.hasNext());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(page.getETag())
+                    .cacheControl(CacheControl.noCache());
+            if (page.hasNext()) {
+                response.header(OrderController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getOrders());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid user orders page request - UserId: {}, Cursor: {}, Limit: {}: {}",
+                userId, cursor, limit, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
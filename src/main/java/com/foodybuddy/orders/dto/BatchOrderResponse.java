@@ -0,0 +1,132 @@
+package com.foodybuddy.orders.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch order ingestion request, with one result per submitted order
+ * in submission order
+ */
+public class BatchOrderResponse {
+    private int received;
+    private int created;
+    private int failed;
+    private String error;
+    private List<OrderResult> results;
+    
+    public BatchOrderResponse() {}
+    
+    public BatchOrderResponse(List<OrderResult> results, String error) {
+        this.results = results;
+        this.error = error;
+        this.received = results.size();
+        this.created = (int) results.stream().filter(result -> result.getStatus() == ResultStatus.CREATED).count();
+        this.failed = this.received - this.created;
+    }
+    
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public List<OrderResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<OrderResult> results) {
+        this.results = results;
+    }
+    
+    public enum ResultStatus {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+    
+    public static class OrderResult {
+        private int index;
+        private String orderId;
+        private ResultStatus status;
+        private String message;
+        
+        public OrderResult() {}
+        
+        public OrderResult(int index, String orderId, ResultStatus status, String message) {
+            this.index = index;
+            this.orderId = orderId;
+            this.status = status;
+            this.message = message;
+        }
+        
+        public static OrderResult created(int index, String orderId) {
+            return new OrderResult(index, orderId, ResultStatus.CREATED, null);
+        }
+        
+        public static OrderResult rejected(int index, String message) {
+            return new OrderResult(index, null, ResultStatus.REJECTED, message);
+        }
+        
+        public static OrderResult failed(int index, String message) {
+            return new OrderResult(index, null, ResultStatus.FAILED, message);
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public void setIndex(int index) {
+            this.index = index;
+        }
+        
+        public String getOrderId() {
+            return orderId;
+        }
+        
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+        
+        public ResultStatus getStatus() {
+            return status;
+        }
+        
+        public void setStatus(ResultStatus status) {
+            this.status = status;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.foodybuddy.orders.dto;
+
+import java.util.List;
+
+/**
+ * Orders changed after a changes cursor, oldest change first, along with the cursor to
+ * resume from and whether more changes were already waiting past this batch
+ */
+public class OrderChanges {
+    private final List<OrderResponse> orders;
+    private final String nextCursor;
+    private final boolean hasMore;
+    
+    public OrderChanges(List<OrderResponse> orders, String nextCursor, boolean hasMore) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
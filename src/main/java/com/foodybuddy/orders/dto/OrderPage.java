@@ -0,0 +1,35 @@
+package com.foodybuddy.orders.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of orders along with the cursor for the following page
+ * (null when there are no more orders) and an ETag identifying the page's content
+ */
+public class OrderPage {
+    private final List<OrderResponse> orders;
+    private final String nextCursor;
+    private final String etag;
+    
+    public OrderPage(List<OrderResponse> orders, String nextCursor, String etag) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+        this.etag = etag;
+    }
+    
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public String getETag() {
+        return etag;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
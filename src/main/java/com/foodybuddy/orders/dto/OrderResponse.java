@@ -7,23 +7,27 @@ import java.util.List;
 public class OrderResponse {
     private Long id;
     private String orderId;
+    private String userId;
     private List<OrderItemResponse> items;
     private Double total;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     public OrderResponse() {}
     
-    public OrderResponse(Long id, String orderId, List<OrderItemResponse> items, Double total, 
-                        OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    public OrderResponse(Long id, String orderId, String userId, List<OrderItemResponse> items, Double total, 
+                        OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.orderId = orderId;
+        this.userId = userId;
         this.items = items;
         this.total = total;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
     
     // Getters and Setters
@@ -43,6 +47,14 @@ public class OrderResponse {
         this.orderId = orderId;
     }
     
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
     public List<OrderItemResponse> getItems() {
         return items;
     }
@@ -83,6 +95,14 @@ public class OrderResponse {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public static class OrderItemResponse {
         private Long id;
         private String itemId;
@@ -0,0 +1,67 @@
+package com.foodybuddy.orders.dto;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Summary of many orders moving between the same statuses in one transaction (a bulk or scheduler chunk),
+ * pushed to subscribers of every order's status changes as one event instead of one per order
+ */
+public class OrderStatusBulkEvent {
+    private List<String> orderIds;
+    private int count;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private LocalDateTime changedAt;
+
+    public OrderStatusBulkEvent() {}
+
+    public OrderStatusBulkEvent(List<String> orderIds, OrderStatus status, OrderStatus previousStatus, LocalDateTime changedAt) {
+        this.orderIds = orderIds;
+        this.count = orderIds.size();
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.changedAt = changedAt;
+    }
+
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<String> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.foodybuddy.orders.dto;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Status change pushed to event stream subscribers
+ */
+public class OrderStatusEvent {
+    private String orderId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private LocalDateTime changedAt;
+    
+    public OrderStatusEvent() {}
+    
+    public OrderStatusEvent(String orderId, OrderStatus status, OrderStatus previousStatus, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.changedAt = changedAt;
+    }
+    
+    public String getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.foodybuddy.orders.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version and last modification time of an order, used to answer conditional reads
+ * without loading the order itself
+ */
+public class OrderVersion {
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    
+    public OrderVersion(Long version, LocalDateTime updatedAt) {
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
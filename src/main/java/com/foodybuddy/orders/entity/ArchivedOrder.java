@@ -0,0 +1,87 @@
+package com.foodybuddy.orders.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only view of an order moved to the archive tables by the archiver
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+public class ArchivedOrder {
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private String orderId;
+    
+    @Column(name = "user_id")
+    private String userId;
+    
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    private List<ArchivedOrderItem> items;
+    
+    @Column(nullable = false)
+    private Double total;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    protected ArchivedOrder() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getOrderId() {
+        return orderId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public List<ArchivedOrderItem> getItems() {
+        return items;
+    }
+    
+    public Double getTotal() {
+        return total;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
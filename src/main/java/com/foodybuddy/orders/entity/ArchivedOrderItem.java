@@ -0,0 +1,57 @@
+package com.foodybuddy.orders.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of an item of an archived order
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive")
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+    
+    @Column(name = "item_id", nullable = false)
+    private String itemId;
+    
+    @Column(name = "item_name", nullable = false)
+    private String itemName;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(nullable = false)
+    private Double price;
+    
+    // Joined on the order's full key, so loading items only touches the order's own partition
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+        @JoinColumn(name = "order_id", referencedColumnName = "id"),
+        @JoinColumn(name = "order_created_at", referencedColumnName = "created_at")
+    })
+    private ArchivedOrder order;
+    
+    protected ArchivedOrderItem() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getItemId() {
+        return itemId;
+    }
+    
+    public String getItemName() {
+        return itemName;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public Double getPrice() {
+        return price;
+    }
+}
@@ -8,12 +8,17 @@ import java.util.List;
 @Table(name = "orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
+    // Unique across partitions and the archive: every insert claims the id in order_ids (see V9)
     @Column(nullable = false)
     private String orderId;
     
+    @Column(name = "user_id")
+    private String userId;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> items;
     
@@ -23,16 +28,24 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
     
-    @Column(name = "created_at")
+    // Partition key of the orders and order_items tables; stamped by the database clock (column default)
+    // when the order is inserted and never changes
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private LocalDateTime createdAt;
     
-    @Column(name = "updated_at")
+    // Stamped by the database clock: the column default on insert, the status updates afterwards
+    @Column(name = "updated_at", insertable = false, updatable = false)
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     // Constructors
     public Order() {
+        // Not written: the database stamps the real creation time in the INSERT. Hibernate still needs
+        // the order's (id, created_at) key to order the items collection while flushing the new order.
         this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
     }
     
     public Order(String orderId, List<OrderItem> items, Double total, OrderStatus status) {
@@ -60,6 +73,14 @@ public class Order {
         this.orderId = orderId;
     }
     
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
     public List<OrderItem> getItems() {
         return items;
     }
@@ -82,7 +103,6 @@ public class Order {
     
     public void setStatus(OrderStatus status) {
         this.status = status;
-        this.updatedAt = LocalDateTime.now();
     }
     
     public LocalDateTime getCreatedAt() {
@@ -100,4 +120,12 @@ public class Order {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -6,7 +6,8 @@ import jakarta.persistence.*;
 @Table(name = "order_items")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "item_id", nullable = false)
@@ -21,10 +22,19 @@ public class OrderItem {
     @Column(nullable = false)
     private Double price;
     
+    // Joined on the order's full key, so loading items only touches the order's own partition.
+    // Written through orderRowId and the order_created_at column default, which stamps the same
+    // transaction time as the order's created_at
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id")
+    @JoinColumns({
+        @JoinColumn(name = "order_id", referencedColumnName = "id", insertable = false, updatable = false),
+        @JoinColumn(name = "order_created_at", referencedColumnName = "created_at", insertable = false, updatable = false)
+    })
     private Order order;
     
+    @Column(name = "order_id", nullable = false)
+    private Long orderRowId;
+    
     // Constructors
     public OrderItem() {}
     
@@ -83,4 +93,10 @@ public class OrderItem {
     public void setOrder(Order order) {
         this.order = order;
     }
+    
+    // The order's id is assigned before its items are persisted
+    @PrePersist
+    void copyOrderRowId() {
+        this.orderRowId = order.getId();
+    }
 }
@@ -1,5 +1,7 @@
 package com.foodybuddy.orders.entity;
 
+import java.util.Arrays;
+
 /**
  * Order status enumeration for the Orders service
  * Represents the lifecycle of an order in the system
@@ -36,4 +38,11 @@ public enum OrderStatus {
             case DELIVERED, CANCELLED -> false;
         };
     }
+
+    /**
+     * Check if the order has reached the end of its lifecycle and can no longer change
+     */
+    public boolean isTerminal() {
+        return Arrays.stream(values()).noneMatch(this::canTransitionTo);
+    }
 }
@@ -0,0 +1,115 @@
+package com.foodybuddy.orders.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Pending gateway notification for an order status change.
+ * Written in the same transaction as the status change and removed once the gateway has accepted it.
+ */
+@Entity
+@Table(name = "order_status_outbox")
+public class OrderStatusOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_status_outbox_seq")
+    @SequenceGenerator(name = "order_status_outbox_seq", sequenceName = "order_status_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    @Column(length = 500)
+    private String message;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    // Constructors
+    public OrderStatusOutboxEvent() {}
+    
+    public OrderStatusOutboxEvent(String orderId, String status, String message) {
+        this.orderId = orderId;
+        this.status = status;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+        this.attempts = 0;
+        this.nextAttemptAt = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,43 @@
+package com.foodybuddy.orders.repository;
+
+import com.foodybuddy.orders.dto.OrderVersion;
+import com.foodybuddy.orders.entity.ArchivedOrder;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read access to archived orders. Rows are only ever written by {@link OrderRepository#archiveTerminalOrders}.
+ */
+@org.springframework.stereotype.Repository
+public interface ArchivedOrderRepository extends Repository<ArchivedOrder, Long> {
+
+    /**
+     * Find an archived order by its business id, within the partitions of its creation time range
+     */
+    @EntityGraph(attributePaths = "items")
+    Optional<ArchivedOrder> findByOrderIdAndCreatedAtBetween(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    /**
+     * Load the given archived orders together with their items in a single query, within the partitions
+     * of their creation time range
+     */
+    @EntityGraph(attributePaths = "items")
+    List<ArchivedOrder> findWithItemsByIdInAndCreatedAtBetween(Collection<Long> ids, LocalDateTime createdFrom,
+                                                               LocalDateTime createdTo);
+
+    @Query("""
+            select new com.foodybuddy.orders.dto.OrderVersion(o.version, o.updatedAt) from ArchivedOrder o
+            where o.orderId = :orderId and o.createdAt between :createdFrom and :createdTo
+            """)
+    Optional<OrderVersion> findVersionByOrderId(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    @Query("select o.status from ArchivedOrder o where o.orderId = :orderId and o.createdAt between :createdFrom and :createdTo")
+    Optional<OrderStatus> findStatusByOrderId(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo);
+}
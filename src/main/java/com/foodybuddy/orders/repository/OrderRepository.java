@@ -1,14 +1,268 @@
 package com.foodybuddy.orders.repository;
 
+import com.foodybuddy.orders.dto.OrderVersion;
 import com.foodybuddy.orders.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Optional<Order> findByOrderId(String orderId);
+
+    /**
+     * Find an order by its business id. The table is partitioned by created_at, so the creation time range
+     * limits the lookup to the partitions that can hold the order.
+     */
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findByOrderIdAndCreatedAtBetween(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo);
     List<Order> findByStatus(com.foodybuddy.orders.entity.OrderStatus status);
+
+    /**
+     * Keyset page of order keys: id, creation time and version of the next {@code limit} orders after the cursor
+     */
+    @Query("select o.id as id, o.createdAt as createdAt, o.version as version from Order o where o.id > :afterId order by o.id")
+    List<OrderKey> findKeysAfter(Long afterId, Limit limit);
+
+    /**
+     * Keyset page of the changes feed: keys of the next {@code limit} orders after the (updatedAt, id)
+     * cursor whose last change is at least {@code settleMillis} older than the database clock, oldest change first.
+     * The row comparison is served as a single range scan of the (updated_at, id) index.
+     */
+    @Query(value = """
+            SELECT id, created_at AS createdAt, version FROM orders
+            WHERE (updated_at, id) > (:sinceUpdatedAt, :afterId)
+            AND updated_at <= CAST(statement_timestamp() AS timestamp) - :settleMillis * INTERVAL '1 millisecond'
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OrderKey> findChangedKeysAfter(LocalDateTime sinceUpdatedAt, long afterId, long settleMillis, int limit);
+
+    /**
+     * Keyset page of a user's order keys, newest first: the next {@code limit} orders before the
+     * (createdAt, id) cursor, from the live and the archive tables. Each side is a range scan of its
+     * (user_id, created_at desc, id desc) index, cut at {@code limit} before the two are merged.
+     * The plain created_at bound skips the monthly partitions newer than the cursor.
+     */
+    @Query(value = """
+            SELECT id, created_at AS createdAt, version FROM (
+                (SELECT id, created_at, version FROM orders
+                 WHERE user_id = :userId AND created_at <= :beforeCreatedAt AND (created_at, id) < (:beforeCreatedAt, :beforeId)
+                 ORDER BY created_at DESC, id DESC LIMIT :limit)
+                UNION ALL
+                (SELECT id, created_at, version FROM orders_archive
+                 WHERE user_id = :userId AND created_at <= :beforeCreatedAt AND (created_at, id) < (:beforeCreatedAt, :beforeId)
+                 ORDER BY created_at DESC, id DESC LIMIT :limit)
+            ) user_orders
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OrderKey> findUserOrderKeysBefore(String userId, LocalDateTime beforeCreatedAt, long beforeId, int limit);
+
+    /**
+     * Like {@link #findUserOrderKeysBefore(String, LocalDateTime, long, int)}, restricted to orders in one of {@code statuses}
+     */
+    @Query(value = """
+            SELECT id, created_at AS createdAt, version FROM (
+                (SELECT id, created_at, version FROM orders
+                 WHERE user_id = :userId AND created_at <= :beforeCreatedAt AND (created_at, id) < (:beforeCreatedAt, :beforeId) AND status IN (:statuses)
+                 ORDER BY created_at DESC, id DESC LIMIT :limit)
+                UNION ALL
+                (SELECT id, created_at, version FROM orders_archive
+                 WHERE user_id = :userId AND created_at <= :beforeCreatedAt AND (created_at, id) < (:beforeCreatedAt, :beforeId) AND status IN (:statuses)
+                 ORDER BY created_at DESC, id DESC LIMIT :limit)
+            ) user_orders
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OrderKey> findUserOrderKeysBefore(String userId, Collection<String> statuses, LocalDateTime beforeCreatedAt,
+                                           long beforeId, int limit);
+
+    /**
+     * Move up to {@code limit} orders in one of {@code statuses} that have not changed for {@code ageMillis}
+     * by the database clock, with their items, into the archive tables in a single statement, stamping
+     * archived_at from the same clock. Rows locked by a concurrent update or archiver are skipped.
+     *
+     * @return the business ids of the archived orders
+     */
+    @Query(value = """
+            WITH claimed AS MATERIALIZED (
+                SELECT id, created_at FROM orders
+                WHERE status IN (:statuses)
+                    AND updated_at < CAST(statement_timestamp() AS timestamp) - :ageMillis * INTERVAL '1 millisecond'
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            moved AS (
+                DELETE FROM orders o USING claimed
+                WHERE o.id = claimed.id AND o.created_at = claimed.created_at
+                RETURNING o.id, o.order_id, o.user_id, o.total, o.status, o.created_at, o.updated_at, o.version
+            ),
+            moved_items AS (
+                DELETE FROM order_items i USING moved
+                WHERE i.order_id = moved.id AND i.order_created_at = moved.created_at
+                RETURNING i.id, i.item_id, i.item_name, i.quantity, i.price, i.order_id, i.order_created_at
+            ),
+            archived_items AS (
+                INSERT INTO order_items_archive (id, item_id, item_name, quantity, price, order_id, order_created_at)
+                SELECT * FROM moved_items
+            )
+            INSERT INTO orders_archive (id, order_id, user_id, total, status, created_at, updated_at, version, archived_at)
+            SELECT id, order_id, user_id, total, status, created_at, updated_at, version, CAST(statement_timestamp() AS timestamp) FROM moved
+            RETURNING order_id
+            """, nativeQuery = true)
+    List<String> archiveTerminalOrders(Collection<String> statuses, long ageMillis, int limit);
+
+    /**
+     * Version and last modification time of an order, read without loading the order or its items
+     */
+    @Query("""
+            select new com.foodybuddy.orders.dto.OrderVersion(o.version, o.updatedAt) from Order o
+            where o.orderId = :orderId and o.createdAt between :createdFrom and :createdTo
+            """)
+    Optional<OrderVersion> findVersionByOrderId(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    /**
+     * Load the given orders together with their items in a single query. The creation time range of the
+     * orders limits the scan to the partitions that can hold them, instead of probing every monthly partition.
+     */
+    @EntityGraph(attributePaths = "items")
+    List<Order> findWithItemsByIdInAndCreatedAtBetween(Collection<Long> ids, LocalDateTime createdFrom,
+                                                       LocalDateTime createdTo, Sort sort);
+
+    /**
+     * Creation and last update time the database stamped an order with
+     */
+    @Query("select o.createdAt as createdAt, o.updatedAt as updatedAt from Order o "
+            + "where o.id = :id and o.createdAt between :createdFrom and :createdTo")
+    OrderTimes findTimesById(Long id, LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    /**
+     * Current time of the database clock, which stamps every created_at and updated_at
+     */
+    @Query(value = "SELECT CAST(statement_timestamp() AS timestamp)", nativeQuery = true)
+    LocalDateTime currentTimestamp();
+
+    /**
+     * Set-based status transition of at most {@code limit} orders in {@code fromStatus} that last changed
+     * before {@code changedBefore}. Runs as a single UPDATE statement and returns the business ids of the
+     * orders it moved, with the updated_at the database stamped them with.
+     * Rows locked by a concurrent transition (e.g. on another replica) are skipped, so concurrent
+     * runs claim disjoint chunks instead of queueing behind each other. The claim is a materialized
+     * CTE so the locking subquery runs exactly once and LIMIT bounds the chunk.
+     */
+    @Query(value = """
+            WITH claimed AS MATERIALIZED (
+                SELECT id, created_at FROM orders WHERE status = :fromStatus AND updated_at < :changedBefore
+                ORDER BY id LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE orders o SET status = :toStatus, updated_at = CAST(statement_timestamp() AS timestamp), version = o.version + 1
+            FROM claimed
+            WHERE o.id = claimed.id AND o.created_at = claimed.created_at
+            RETURNING o.order_id AS orderId, o.updated_at AS updatedAt
+            """, nativeQuery = true)
+    List<ChangedOrder> transitionStatusChunk(String fromStatus, String toStatus, LocalDateTime changedBefore, int limit);
+
+    /**
+     * Like {@link #transitionStatusChunk}, but only moves orders that have spent at least {@code dwellMillis} in
+     * {@code fromStatus} by the database clock, oldest first. Served by the (status, updated_at) index.
+     */
+    @Query(value = """
+            WITH claimed AS MATERIALIZED (
+                SELECT id, created_at FROM orders WHERE status = :fromStatus
+                    AND updated_at <= CAST(statement_timestamp() AS timestamp) - :dwellMillis * INTERVAL '1 millisecond'
+                ORDER BY updated_at LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE orders o SET status = :toStatus, updated_at = CAST(statement_timestamp() AS timestamp), version = o.version + 1
+            FROM claimed
+            WHERE o.id = claimed.id AND o.created_at = claimed.created_at
+            RETURNING o.order_id AS orderId, o.updated_at AS updatedAt
+            """, nativeQuery = true)
+    List<ChangedOrder> transitionDueStatusChunk(String fromStatus, String toStatus, long dwellMillis, int limit);
+
+    /**
+     * Compare-and-set status change of a single order in one statement, without row locks held
+     * beyond the update itself. Succeeds only if the order is currently in one of
+     * {@code fromStatuses} and its version has not changed since the statement's snapshot,
+     * so a concurrent writer that got there first makes it update nothing.
+     * The order is found through the order_id and primary key indexes only, in the partitions
+     * the creation time range allows.
+     *
+     * @return the previous status and the new updated_at, or an empty list if nothing was updated
+     */
+    @Query(value = """
+            WITH current AS MATERIALIZED (
+                SELECT id, created_at, status, version FROM orders
+                WHERE order_id = :orderId AND created_at BETWEEN :createdFrom AND :createdTo
+            )
+            UPDATE orders o SET status = :toStatus, updated_at = CAST(statement_timestamp() AS timestamp), version = o.version + 1
+            FROM current
+            WHERE o.id = current.id AND o.created_at = current.created_at
+            AND o.created_at BETWEEN :createdFrom AND :createdTo
+            AND o.version = current.version
+            AND current.status IN (:fromStatuses)
+            RETURNING current.status AS previousStatus, o.updated_at AS updatedAt
+            """, nativeQuery = true)
+    List<StatusChange> compareAndSetStatus(String orderId, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                           Collection<String> fromStatuses, String toStatus);
+
+    @Query("select o.status from Order o where o.orderId = :orderId and o.createdAt between :createdFrom and :createdTo")
+    Optional<com.foodybuddy.orders.entity.OrderStatus> findStatusByOrderId(String orderId, LocalDateTime createdFrom,
+                                                                           LocalDateTime createdTo);
+
+    /**
+     * Number of orders in each status
+     */
+    @Query("select o.status as status, count(o) as count from Order o group by o.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Forward-only cursor over every order, fetched from the database in fixed-size batches.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.id")
+    Stream<Order> streamAllOrderedById();
+
+    interface OrderKey {
+        Long getId();
+        LocalDateTime getCreatedAt();
+        Long getVersion();
+    }
+
+    interface OrderTimes {
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface ChangedOrder {
+        String getOrderId();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface StatusChange {
+        String getPreviousStatus();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface StatusCount {
+        com.foodybuddy.orders.entity.OrderStatus getStatus();
+        long getCount();
+    }
 }
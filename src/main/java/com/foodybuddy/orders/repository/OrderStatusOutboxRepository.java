@@ -0,0 +1,51 @@
+package com.foodybuddy.orders.repository;
+
+import com.foodybuddy.orders.entity.OrderStatusOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderStatusOutboxRepository extends JpaRepository<OrderStatusOutboxEvent, Long> {
+
+    /**
+     * Claim up to {@code limit} events that are due for delivery by pushing their next attempt out to
+     * {@code leaseUntil}, so the claim holds without keeping the rows locked while they are being delivered.
+     * Rows locked by another dispatcher are skipped, so several replicas can drain the outbox concurrently;
+     * events that are not recorded as delivered or failed before the lease ends are claimed again.
+     * Events of one order are delivered in order: an event is only claimed when every earlier event of its
+     * order is claimed in the same batch, so it waits while an earlier one is backing off after a failure
+     * or is claimed by another dispatcher.
+     */
+    @Query(value = """
+            WITH candidates AS MATERIALIZED (
+                SELECT id, order_id FROM order_status_outbox c
+                WHERE next_attempt_at <= :now
+                  AND NOT EXISTS (
+                      SELECT 1 FROM order_status_outbox p
+                      WHERE p.order_id = c.order_id AND p.id < c.id AND p.next_attempt_at > :now)
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            claimed AS (
+                SELECT id FROM candidates c
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM order_status_outbox p
+                    WHERE p.order_id = c.order_id AND p.id < c.id
+                      AND p.id NOT IN (SELECT id FROM candidates))
+            )
+            UPDATE order_status_outbox e
+            SET next_attempt_at = :leaseUntil
+            FROM claimed
+            WHERE e.id = claimed.id
+            RETURNING e.*
+            """, nativeQuery = true)
+    List<OrderStatusOutboxEvent> claimDueEvents(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    @Query("select min(e.createdAt) from OrderStatusOutboxEvent e")
+    LocalDateTime findOldestCreatedAt();
+}
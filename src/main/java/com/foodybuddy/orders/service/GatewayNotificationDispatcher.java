@@ -0,0 +1,323 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatusOutboxEvent;
+import com.foodybuddy.orders.repository.OrderStatusOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway Notification Dispatcher
+ *
+ * Drains the order status outbox in the background and delivers the events to the gateway.
+ *
+ * Key responsibilities:
+ * - Claim due events in batches (SKIP LOCKED, so replicas never claim the same event twice)
+ * - Deliver them outside any transaction, one request per event or, when enabled, one request per batch
+ * - Keep the events of each order in order: after a failure, later events of that order wait for it
+ * - Reschedule failed events with exponential backoff, dropping them after the maximum attempts
+ * - Publish outbox depth and lag metrics
+ */
+@Component
+@Lazy(false)
+public class GatewayNotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayNotificationDispatcher.class);
+    private final OrderStatusOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final String gatewayStatusUpdateUrl;
+    private final String gatewayBatchStatusUpdateUrl;
+    private volatile boolean batchEnabled;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public GatewayNotificationDispatcher(OrderStatusOutboxRepository outboxRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         RestTemplate restTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${gateway.url:http://localhost:8080}") String gatewayUrl,
+                                         @Value("${gateway.notifications.batch-enabled:false}") boolean batchEnabled,
+                                         @Value("${gateway.notifications.batch-size:100}") int batchSize,
+                                         @Value("${gateway.notifications.claim-timeout:5m}") Duration claimTimeout,
+                                         @Value("${gateway.notifications.max-attempts:10}") int maxAttempts,
+                                         @Value("${gateway.notifications.retry-backoff:1s}") Duration retryBackoff,
+                                         @Value("${gateway.notifications.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.restTemplate = restTemplate;
+        this.gatewayStatusUpdateUrl = gatewayUrl + "/api/gateway/orders/status";
+        this.gatewayBatchStatusUpdateUrl = gatewayUrl + "/api/gateway/orders/status/batch";
+        this.batchEnabled = batchEnabled;
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.meterRegistry = meterRegistry;
+
+        this.dispatchedCounter = Counter.builder("orders.outbox.dispatched")
+                .description("Status events delivered to the gateway")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("orders.outbox.failed")
+                .description("Failed status event delivery attempts")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("orders.outbox.dropped")
+                .description("Status events dropped after exhausting retries")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Status events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered status event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        logger.info("GatewayNotificationDispatcher initialized with gateway URL: {}, batch enabled: {}, batch size: {}",
+            batchEnabled ? gatewayBatchStatusUpdateUrl : gatewayStatusUpdateUrl, batchEnabled, batchSize);
+    }
+
+    /**
+     * Deliver all due outbox events, one batch at a time
+     */
+    @Scheduled(fixedDelayString = "${gateway.notifications.dispatch-interval:1000}")
+    public void dispatchPendingEvents() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.error("Gateway notification dispatch failed", e);
+        } finally {
+            refreshQueueMetrics();
+        }
+    }
+
+    /**
+     * Claim one batch of due events in a short transaction, deliver it without holding a transaction
+     * or row locks, then record the outcome in a second short transaction
+     *
+     * @return number of events claimed, or 0 when delivery failed so the caller stops for this round
+     */
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(claimTimeout);
+        List<OrderStatusOutboxEvent> events = new ArrayList<>(transactionTemplate.execute(
+                status -> outboxRepository.claimDueEvents(now, leaseUntil, batchSize)));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        events.sort(Comparator.comparing(OrderStatusOutboxEvent::getId));
+        logger.debug("Dispatching {} status events to gateway", events.size());
+
+        List<OrderStatusOutboxEvent> delivered = new ArrayList<>();
+        List<OrderStatusOutboxEvent> failed = new ArrayList<>();
+        List<OrderStatusOutboxEvent> held = new ArrayList<>();
+        String error = batchEnabled
+                ? deliverBatch(events, leaseUntil, delivered, failed, held)
+                : deliverEach(events, leaseUntil, delivered, failed, held);
+        // Events not attempted before the lease ran out keep it as their next attempt and are claimed again
+        int unsent = events.size() - delivered.size() - failed.size() - held.size();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.deleteAllByIdInBatch(delivered.stream().map(OrderStatusOutboxEvent::getId).toList());
+            reschedule(failed, error);
+            release(held);
+        });
+        dispatchedCounter.increment(delivered.size());
+
+        logger.debug("Gateway notification batch completed - Delivered: {}, Failed: {}, Held: {}, Unsent: {}",
+            delivered.size(), failed.size(), held.size(), unsent);
+        return failed.isEmpty() && held.isEmpty() && unsent == 0 ? events.size() : 0;
+    }
+
+    /**
+     * Send the whole batch in one request. Falls back to one request per event, for this and every later
+     * batch, if the gateway does not serve the batch endpoint.
+     *
+     * @return the delivery error, or null if every event was delivered
+     */
+    private String deliverBatch(List<OrderStatusOutboxEvent> events, LocalDateTime leaseUntil,
+                                List<OrderStatusOutboxEvent> delivered, List<OrderStatusOutboxEvent> failed,
+                                List<OrderStatusOutboxEvent> held) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<Map<String, Object>> statusUpdates = events.stream().map(this::toStatusUpdateRequest).toList();
+            restTemplate.postForObject(gatewayBatchStatusUpdateUrl, jsonEntity(statusUpdates), Object.class);
+            sample.stop(notificationTimer("batch", "success"));
+            delivered.addAll(events);
+            return null;
+        } catch (HttpClientErrorException e) {
+            sample.stop(notificationTimer("batch", "error"));
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND) || e.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)) {
+                logger.warn("Gateway does not support {} ({}), sending one status notification per event from now on",
+                    gatewayBatchStatusUpdateUrl, e.getStatusCode());
+                batchEnabled = false;
+                return deliverEach(events, leaseUntil, delivered, failed, held);
+            }
+            logger.warn("Failed to deliver batch of {} status events to gateway: {}", events.size(), e.getMessage());
+            failed.addAll(events);
+            return e.getMessage();
+        } catch (Exception e) {
+            sample.stop(notificationTimer("batch", "error"));
+            logger.warn("Failed to deliver batch of {} status events to gateway: {}", events.size(), e.getMessage());
+            failed.addAll(events);
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Send one request per event in claim order, stopping once the claim has expired so another dispatcher
+     * that claims the remaining events does not deliver them a second time. Once an event fails, the later
+     * events of the same order are held back rather than sent ahead of it.
+     *
+     * @return the last delivery error, or null if no delivery failed
+     */
+    private String deliverEach(List<OrderStatusOutboxEvent> events, LocalDateTime leaseUntil,
+                               List<OrderStatusOutboxEvent> delivered, List<OrderStatusOutboxEvent> failed,
+                               List<OrderStatusOutboxEvent> held) {
+        String error = null;
+        Set<String> failedOrderIds = new HashSet<>();
+        for (OrderStatusOutboxEvent event : events) {
+            if (!LocalDateTime.now().isBefore(leaseUntil)) {
+                logger.warn("Claim on status events expired after {}, leaving {} events for the next round",
+                    claimTimeout, events.size() - delivered.size() - failed.size() - held.size());
+                break;
+            }
+            if (failedOrderIds.contains(event.getOrderId())) {
+                held.add(event);
+                continue;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                restTemplate.postForObject(gatewayStatusUpdateUrl, jsonEntity(toStatusUpdateRequest(event)), Map.class);
+                sample.stop(notificationTimer("single", "success"));
+                delivered.add(event);
+            } catch (Exception e) {
+                sample.stop(notificationTimer("single", "error"));
+                logger.warn("Failed to notify gateway about status update for orderId: {}: {}",
+                    event.getOrderId(), e.getMessage());
+                failed.add(event);
+                failedOrderIds.add(event.getOrderId());
+                error = e.getMessage();
+            }
+        }
+        return error;
+    }
+
+    private Timer notificationTimer(String mode, String outcome) {
+        return Timer.builder("orders.gateway.notification")
+                .description("Latency of gateway status notification requests")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void reschedule(List<OrderStatusOutboxEvent> failed, String error) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        failedCounter.increment(failed.size());
+
+        // The claimed events are detached; update the current rows in this transaction
+        List<OrderStatusOutboxEvent> exhausted = new ArrayList<>();
+        for (OrderStatusOutboxEvent event : outboxRepository.findAllById(failed.stream().map(OrderStatusOutboxEvent::getId).toList())) {
+            int attempts = event.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                logger.error("Dropping status event for orderId: {} after {} attempts - Status: {}, Last error: {}",
+                    event.getOrderId(), attempts, event.getStatus(), error);
+                exhausted.add(event);
+                continue;
+            }
+            event.setAttempts(attempts);
+            event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        }
+
+        outboxRepository.deleteAllInBatch(exhausted);
+        droppedCounter.increment(exhausted.size());
+    }
+
+    /**
+     * Make held events due again right away. The claim query only picks them up once the failed event
+     * ahead of them in their order has been delivered or dropped.
+     */
+    private void release(List<OrderStatusOutboxEvent> held) {
+        if (held.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.findAllById(held.stream().map(OrderStatusOutboxEvent::getId).toList())
+                .forEach(event -> event.setNextAttemptAt(now));
+    }
+
+    /**
+     * Exponential backoff: retryBackoff * 2^(attempts - 1), capped at maxRetryBackoff
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private void refreshQueueMetrics() {
+        try {
+            queueDepth.set(outboxRepository.count());
+            LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+            lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+        } catch (Exception e) {
+            logger.warn("Failed to refresh outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toStatusUpdateRequest(OrderStatusOutboxEvent event) {
+        Map<String, Object> statusUpdateRequest = new HashMap<>();
+        statusUpdateRequest.put("orderId", event.getOrderId());
+        statusUpdateRequest.put("status", event.getStatus());
+        statusUpdateRequest.put("message", event.getMessage());
+        statusUpdateRequest.put("updatedBy", "order-service");
+        return statusUpdateRequest;
+    }
+
+    private <T> HttpEntity<T> jsonEntity(T body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -0,0 +1,74 @@
+package com.foodybuddy.orders.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Order Archiver
+ *
+ * Keeps the live orders tables small by moving DELIVERED and CANCELLED orders into the archive tables
+ * once they have not changed for the configured age, measured by the database clock. Every tick moves at
+ * most a bounded number of small batches, each in its own short transaction, so archiving never holds many
+ * row locks or produces one large burst of WAL. Batches are claimed with SKIP LOCKED, so replicas archive
+ * disjoint orders. Disabled unless {@code orders.archive.enabled} is set.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+    private final OrderService orderService;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archivedCounter;
+
+    public OrderArchiver(OrderService orderService,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.archive.after:7d}") Duration archiveAfter,
+                         @Value("${orders.archive.batch-size:500}") int batchSize,
+                         @Value("${orders.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.orderService = orderService;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archivedCounter = Counter.builder("orders.archived")
+                .description("Terminal orders moved to the archive tables")
+                .register(meterRegistry);
+        logger.info("OrderArchiver initialized - archiving terminal orders after: {}, batch size: {}, max batches per run: {}",
+            archiveAfter, batchSize, maxBatchesPerRun);
+    }
+
+    /**
+     * Archive batches of old terminal orders until none are left or the per-run limit is reached
+     */
+    @Scheduled(fixedDelayString = "${orders.archive.interval:60000}")
+    public void archiveTerminalOrders() {
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int archived = orderService.archiveTerminalOrders(archiveAfter, batchSize);
+                archivedCounter.increment(archived);
+                total += archived;
+                if (archived < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Archiving terminal orders failed after {} orders: {}", total, e.getMessage());
+        }
+        if (total > 0) {
+            logger.info("Archived {} terminal orders unchanged for {}", total, archiveAfter);
+        }
+    }
+}
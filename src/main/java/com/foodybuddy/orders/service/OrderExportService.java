@@ -0,0 +1,323 @@
+package com.foodybuddy.orders.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodybuddy.orders.entity.OrderStatus;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Order Export Service
+ *
+ * Exports orders for finance and analytics as CSV or newline-delimited JSON, one line per order item
+ * with the order's fields repeated on each line (orders without items get one line with empty item fields).
+ * Live and archived orders are both exported. Rows are read from a forward-only database cursor
+ * a fetch-size at a time and written straight to the output, so memory stays flat regardless of export size.
+ * Each running export holds a pooled connection and an open transaction until it completes, so only a few
+ * may run at once; callers reserve a slot before starting one.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    static final String[] COLUMNS = {
+        "order_id", "user_id", "status", "order_total", "created_at", "updated_at",
+        "item_id", "item_name", "quantity", "price"
+    };
+
+    private static final String SELECT_ITEM_LINES =
+            "SELECT o.order_id, o.user_id, o.status, o.total, o.created_at, o.updated_at, "
+            + "i.item_id, i.item_name, i.quantity, i.price, o.id AS order_pk, i.id AS item_pk "
+            + "FROM %s o LEFT JOIN %s i ON i.order_id = o.id AND i.order_created_at = o.created_at";
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int maxConcurrent;
+    private final Semaphore exportSlots;
+
+    public OrderExportService(DataSource dataSource,
+                              ObjectMapper objectMapper,
+                              @Value("${orders.export.fetch-size:1000}") int fetchSize,
+                              @Value("${orders.export.max-concurrent:2}") int maxConcurrent) {
+        // A fetch size inside a transaction makes the driver read through a server-side cursor instead of buffering the whole result
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.maxConcurrent = maxConcurrent;
+        this.exportSlots = new Semaphore(maxConcurrent);
+        logger.info("OrderExportService initialized with fetch size: {}, max concurrent exports: {}", fetchSize, maxConcurrent);
+    }
+
+    /**
+     * Reserve a slot for one export, so exports cannot take over the connection pool.
+     * Every reserved slot must be given back with {@link #releaseSlot()} once the export ends, however it ends.
+     *
+     * @return false if the maximum number of exports is already running
+     */
+    public boolean tryReserveSlot() {
+        boolean reserved = exportSlots.tryAcquire();
+        if (!reserved) {
+            logger.warn("No export slot free, {} exports already running", maxConcurrent);
+        }
+        return reserved;
+    }
+
+    public void releaseSlot() {
+        exportSlots.release();
+    }
+
+    /**
+     * Write every order item of the orders created in [from, to) to the output, oldest order first.
+     * Null bounds and an empty status list leave that filter out. The output is flushed but not closed.
+     *
+     * @return the number of lines written, excluding the CSV header
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.export", description = "Time taken to export orders")
+    public long exportOrders(LocalDateTime from, LocalDateTime to, List<OrderStatus> statuses,
+                             Format format, OutputStream output) throws IOException {
+        logger.info("Exporting orders - From: {}, To: {}, Status: {}, Format: {}, Fetch size: {}",
+            from, to, statuses, format, fetchSize);
+
+        List<Object> params = new ArrayList<>();
+        String sql = selectItemLines("orders", "order_items", from, to, statuses, params)
+                + " UNION ALL " + selectItemLines("orders_archive", "order_items_archive", from, to, statuses, params)
+                + " ORDER BY created_at, order_pk, item_pk";
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        LineWriter lines = format == Format.NDJSON ? new NdjsonLineWriter(writer) : new CsvLineWriter(writer);
+        long[] written = {0};
+        try {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                lines.write(rs);
+                written[0]++;
+            }, params.toArray());
+            lines.flush();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-export; the cursor is closed with the transaction
+            throw e.getCause();
+        }
+
+        logger.info("Exported {} order lines - From: {}, To: {}, Format: {}", written[0], from, to, format);
+        return written[0];
+    }
+
+    /**
+     * Both tables are filtered on their own partition key so only the partitions of the range are scanned;
+     * the item bounds go in the join condition so orders without items are kept.
+     */
+    private static String selectItemLines(String orderTable, String itemTable, LocalDateTime from, LocalDateTime to,
+                                          List<OrderStatus> statuses, List<Object> params) {
+        StringBuilder sql = new StringBuilder(String.format(SELECT_ITEM_LINES, orderTable, itemTable));
+        if (from != null) {
+            sql.append(" AND i.order_created_at >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND i.order_created_at < ?");
+            params.add(to);
+        }
+        sql.append(" WHERE TRUE");
+        if (from != null) {
+            sql.append(" AND o.created_at >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND o.created_at < ?");
+            params.add(to);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND o.status IN (").append(String.join(", ", Collections.nCopies(statuses.size(), "?"))).append(")");
+            statuses.forEach(status -> params.add(status.name()));
+        }
+        return sql.toString();
+    }
+
+    private interface LineWriter {
+        void write(ResultSet rs) throws SQLException;
+
+        void flush();
+    }
+
+    private static class CsvLineWriter implements LineWriter {
+        private final Writer writer;
+
+        CsvLineWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                writeField(rs.getString("order_id"));
+                writer.write(',');
+                writeField(rs.getString("user_id"));
+                writer.write(',');
+                writeField(rs.getString("status"));
+                writer.write(',');
+                writeField(decimal(rs, "total"));
+                writer.write(',');
+                writeField(timestamp(rs, "created_at"));
+                writer.write(',');
+                writeField(timestamp(rs, "updated_at"));
+                writer.write(',');
+                writeField(rs.getString("item_id"));
+                writer.write(',');
+                writeField(rs.getString("item_name"));
+                writer.write(',');
+                writeField(rs.getString("quantity"));
+                writer.write(',');
+                writeField(decimal(rs, "price"));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // RFC 4180: quote fields holding a separator, quote or line break, doubling embedded quotes
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private class NdjsonLineWriter implements LineWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonLineWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(writer)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are separated by the newline below, not by the default space between root values
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                generator.writeStringField("orderId", rs.getString("order_id"));
+                generator.writeStringField("userId", rs.getString("user_id"));
+                generator.writeStringField("status", rs.getString("status"));
+                writeNumberField("total", decimal(rs, "total"));
+                generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+                generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+                generator.writeStringField("itemId", rs.getString("item_id"));
+                generator.writeStringField("itemName", rs.getString("item_name"));
+                int quantity = rs.getInt("quantity");
+                if (rs.wasNull()) {
+                    generator.writeNullField("quantity");
+                } else {
+                    generator.writeNumberField("quantity", quantity);
+                }
+                writeNumberField("price", decimal(rs, "price"));
+                generator.writeEndObject();
+                // Write the separator through the generator so it stays in order with its buffered output
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeNumberField(String name, String value) throws IOException {
+            generator.writeFieldName(name);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                generator.flush();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Plain notation for amounts, so large totals are not written as 1.0E7
+    private static String decimal(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : BigDecimal.valueOf(value).toPlainString();
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.foodybuddy.orders.service;
+
+/**
+ * Source of public order identifiers.
+ * The implementation is chosen with orders.id.generator (time-ordered or random).
+ */
+public interface OrderIdGenerator {
+
+    /**
+     * Next order id, unique across pods and safe to hand out as the order's only lookup key
+     */
+    String nextId();
+}
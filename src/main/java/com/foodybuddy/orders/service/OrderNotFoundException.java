@@ -0,0 +1,20 @@
+package com.foodybuddy.orders.service;
+
+/**
+ * Thrown when no live or archived order has the given order id
+ */
+public class OrderNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String orderId;
+
+    public OrderNotFoundException(String orderId) {
+        super("Order not found: " + orderId);
+        this.orderId = orderId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+}
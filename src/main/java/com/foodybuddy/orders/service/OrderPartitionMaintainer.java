@@ -0,0 +1,122 @@
+package com.foodybuddy.orders.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Order Partition Maintainer
+ *
+ * The orders, order_items and archive tables are range partitioned by month of the order's creation time.
+ * This job creates the partitions for the current month and the configured number of months ahead, at startup
+ * and then periodically, so new orders never have to wait for a partition. A partition is created while its
+ * month is still empty, which keeps the check against the DEFAULT partition and the parent lock short;
+ * a lock timeout makes a busy table skip the attempt until the next run instead of queueing traffic behind it.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "orders.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionMaintainer.class);
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Tables partitioned by month of the order's creation time; partitions are named <table>_yyyy_MM and <table>_default
+    static final List<String> PARTITIONED_TABLES = List.of("orders", "order_items", "orders_archive", "order_items_archive");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final Duration lockTimeout;
+
+    public OrderPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${orders.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${orders.partitions.lock-timeout:5s}") Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = lockTimeout;
+        logger.info("OrderPartitionMaintainer initialized - creating monthly partitions {} months ahead for: {}",
+            monthsAhead, PARTITIONED_TABLES);
+    }
+
+    /**
+     * Create any missing monthly partition from the current month up to the configured months ahead
+     */
+    @Scheduled(fixedDelayString = "${orders.partitions.interval:3600000}")
+    public void createUpcomingPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            for (String table : PARTITIONED_TABLES) {
+                if (createPartition(table, month)) {
+                    created++;
+                }
+            }
+        }
+        if (created > 0) {
+            logger.info("Created {} monthly partitions up to {}", created, currentMonth.plusMonths(monthsAhead));
+        }
+        checkDefaultPartitions();
+    }
+
+    /**
+     * @return true if the partition was created by this call
+     */
+    private boolean createPartition(String table, YearMonth month) {
+        String partition = table + "_" + month.format(SUFFIX);
+        if (partitionExists(partition)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            });
+            logger.debug("Created partition {} of {}", partition, table);
+            return true;
+        } catch (DataAccessException e) {
+            // Fails if the default partition already holds rows of this month; those have to be moved out first
+            logger.warn("Failed to create partition {} of {}: {}", partition, table, e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    private boolean partitionExists(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition));
+    }
+
+    /**
+     * Rows only land in a default partition when their month had no partition yet. They are not pruned
+     * and block creating that month's partition, so they are worth an operator's attention.
+     */
+    private void checkDefaultPartitions() {
+        for (String table : PARTITIONED_TABLES) {
+            String partition = table + "_default";
+            try {
+                Boolean hasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+                if (Boolean.TRUE.equals(hasRows)) {
+                    logger.warn("Default partition {} holds rows outside the monthly partitions of {}", partition, table);
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Failed to check default partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+}
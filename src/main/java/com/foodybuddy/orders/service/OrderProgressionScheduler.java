@@ -0,0 +1,73 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Order Progression Scheduler
+ *
+ * Advances in-flight orders through CONFIRMED, PREPARING, READY and OUT_FOR_DELIVERY on a timer.
+ * An order is due once it has spent the configured dwell time in its current status (its updated_at
+ * plus the dwell time has passed by the database clock). Every tick advances at most one small batch of due
+ * orders per step, oldest first, so progression work is spread out over time instead of arriving as one large
+ * bulk run. Disabled unless {@code orders.progression.scheduler.enabled} is set.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "orders.progression.scheduler.enabled", havingValue = "true")
+public class OrderProgressionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderProgressionScheduler.class);
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final Map<OrderStatus, Duration> dwellTimes = new EnumMap<>(OrderStatus.class);
+    private final int batchSize;
+
+    public OrderProgressionScheduler(OrderService orderService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${orders.progression.scheduler.batch-size:100}") int batchSize,
+                                     @Value("${orders.progression.dwell.confirmed:2m}") Duration confirmedDwell,
+                                     @Value("${orders.progression.dwell.preparing:10m}") Duration preparingDwell,
+                                     @Value("${orders.progression.dwell.ready:2m}") Duration readyDwell,
+                                     @Value("${orders.progression.dwell.out-for-delivery:20m}") Duration outForDeliveryDwell) {
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        dwellTimes.put(OrderStatus.CONFIRMED, confirmedDwell);
+        dwellTimes.put(OrderStatus.PREPARING, preparingDwell);
+        dwellTimes.put(OrderStatus.READY, readyDwell);
+        dwellTimes.put(OrderStatus.OUT_FOR_DELIVERY, outForDeliveryDwell);
+        logger.info("OrderProgressionScheduler initialized with batch size: {}, dwell times: {}", batchSize, dwellTimes);
+    }
+
+    /**
+     * Advance one batch of due orders per progression step, latest step first
+     */
+    @Scheduled(fixedDelayString = "${orders.progression.scheduler.interval:1000}")
+    public void advanceDueOrders() {
+        for (int i = OrderService.PROGRESSION_STEPS.length - 1; i >= 0; i--) {
+            OrderService.ProgressionStep step = OrderService.PROGRESSION_STEPS[i];
+            try {
+                int advanced = orderService.advanceDueOrders(step.fromStatus(), step.toStatus(),
+                        dwellTimes.get(step.fromStatus()), batchSize);
+                if (advanced > 0) {
+                    meterRegistry.counter("orders.progression.updated", "step", step.name()).increment(advanced);
+                    logger.debug("Step {} advanced {} due orders", step.name(), advanced);
+                }
+            } catch (Exception e) {
+                logger.warn("Progression step {} failed: {}", step.name(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,26 +1,60 @@
 package com.foodybuddy.orders.service;
 
+import com.foodybuddy.orders.config.CacheConfig;
+import com.foodybuddy.orders.dto.BatchOrderResponse;
 import com.foodybuddy.orders.dto.CreateOrderRequest;
+import com.foodybuddy.orders.dto.OrderChanges;
+import com.foodybuddy.orders.dto.OrderPage;
 import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.dto.OrderVersion;
+import com.foodybuddy.orders.entity.ArchivedOrder;
 import com.foodybuddy.orders.entity.Order;
 import com.foodybuddy.orders.entity.OrderItem;
 import com.foodybuddy.orders.entity.OrderStatus;
+import com.foodybuddy.orders.entity.OrderStatusOutboxEvent;
+import com.foodybuddy.orders.repository.ArchivedOrderRepository;
 import com.foodybuddy.orders.repository.OrderRepository;
+import com.foodybuddy.orders.repository.OrderStatusOutboxRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Order Service
@@ -31,119 +65,409 @@ import java.util.stream.Collectors;
  * Key responsibilities:
  * - Create new orders with items and customer details
  * - Track order status throughout the lifecycle
- * - Update order status and notify the gateway
- * - Provide order history and details
- * - Handle order status transitions with validation
+ * - Update order status and queue gateway notifications in the outbox
+ * - Publish committed status changes to live subscribers
+ * - Provide order history and details, from the live tables or the archive
+ * - Move terminal orders into the archive tables
+ * - Handle order status transitions with validation (compare-and-set, no lost updates)
  */
 @Service
 @Transactional
 public class OrderService {
     
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+    private static final int STREAM_CHUNK_SIZE = 100;
+    
+    // Automatic progression steps: orders in fromStatus are advanced to toStatus
+    static final ProgressionStep[] PROGRESSION_STEPS = {
+        new ProgressionStep("confirmed_to_preparing", OrderStatus.CONFIRMED, OrderStatus.PREPARING),
+        new ProgressionStep("preparing_to_ready", OrderStatus.PREPARING, OrderStatus.READY),
+        new ProgressionStep("ready_to_out_for_delivery", OrderStatus.READY, OrderStatus.OUT_FOR_DELIVERY),
+        new ProgressionStep("out_for_delivery_to_delivered", OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED)
+    };
+    
     private final OrderRepository orderRepository;
-    private final RestTemplate restTemplate;
-    private final String gatewayStatusUpdateUrl;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderStatusOutboxRepository outboxRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache ordersCache;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderIdGenerator orderIdGenerator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int bulkChunkSize;
+    private final int batchChunkSize;
+    private final Duration changesSettleWindow;
 
     public OrderService(OrderRepository orderRepository, 
-                       RestTemplate restTemplate,
-                       @Value("${gateway.url:http://localhost:8080}") String gatewayUrl) {
+                       ArchivedOrderRepository archivedOrderRepository,
+                       OrderStatusOutboxRepository outboxRepository,
+                       EntityManager entityManager,
+                       PlatformTransactionManager transactionManager,
+                       CacheManager cacheManager,
+                       MeterRegistry meterRegistry,
+                       ApplicationEventPublisher eventPublisher,
+                       OrderIdGenerator orderIdGenerator,
+                       @Value("${orders.page.default-size:50}") int defaultPageSize,
+                       @Value("${orders.page.max-size:500}") int maxPageSize,
+                       @Value("${orders.bulk.chunk-size:1000}") int bulkChunkSize,
+                       @Value("${orders.batch.chunk-size:500}") int batchChunkSize,
+                       @Value("${orders.changes.settle-window:5s}") Duration changesSettleWindow) {
         this.orderRepository = orderRepository;
-        this.restTemplate = restTemplate;
-        this.gatewayStatusUpdateUrl = gatewayUrl + "/api/gateway/orders/status";
-        logger.info("OrderService initialized with gateway URL: {}", this.gatewayStatusUpdateUrl);
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Evictions are deferred until the surrounding transaction commits
+        this.ordersCache = new TransactionAwareCacheDecorator(cacheManager.getCache(CacheConfig.ORDERS_CACHE));
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.orderIdGenerator = orderIdGenerator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.bulkChunkSize = bulkChunkSize;
+        this.batchChunkSize = batchChunkSize;
+        this.changesSettleWindow = changesSettleWindow;
+        logger.info("OrderService initialized with page size: {} (max {}), bulk chunk size: {}, order ids: {}", 
+            defaultPageSize, maxPageSize, bulkChunkSize, orderIdGenerator.getClass().getSimpleName());
     }
     
+    @Timed(value = "orders.create", description = "Time taken to create an order")
     public OrderResponse createOrder(CreateOrderRequest request) {
-        String orderId = UUID.randomUUID().toString();
+        String orderId = orderIdGenerator.nextId();
         logger.info("Creating new order - OrderId: {}, UserId: {}, Items: {}", 
             orderId, request.getUserId(), request.getItems().size());
         
-        // Create order items
-        List<OrderItem> orderItems = request.getItems().stream()
-                .map(item -> new OrderItem(
-                        item.getItemId(),
-                        item.getItemName(),
-                        item.getQuantity(),
-                        item.getPrice()
-                ))
-                .collect(Collectors.toList());
-        
-        logger.debug("Created {} order items", orderItems.size());
-        
-        // Calculate total
-        Double total = orderItems.stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
-        
-        logger.debug("Order total calculated: {}", total);
-        
-        // Create order
-        Order order = new Order(orderId, orderItems, total, OrderStatus.PENDING);
-        
-        // Set order reference in items
-        orderItems.forEach(item -> item.setOrder(order));
+        Order order = buildOrder(orderId, request);
         
         // Save order
         Order savedOrder = orderRepository.save(order);
         logger.info("Order created and saved successfully - OrderId: {}, Status: {}, Total: {}", 
-            orderId, OrderStatus.PENDING, total);
+            orderId, OrderStatus.PENDING, order.getTotal());
+        
+        // The database stamps the order's times in the INSERT; read them back for the response
+        CreationWindow created = CreationWindow.of(orderId);
+        OrderRepository.OrderTimes times = orderRepository.findTimesById(savedOrder.getId(), created.from(), created.to());
+        savedOrder.setCreatedAt(times.getCreatedAt());
+        savedOrder.setUpdatedAt(times.getUpdatedAt());
         
         return convertToResponse(savedOrder);
     }
     
+    /**
+     * Create orders in bulk
+     * 
+     * Requests are read one at a time from the iterator, validated, and persisted in
+     * chunks of orders.batch.chunk-size orders per transaction. If a chunk fails to commit,
+     * its orders are retried one by one so a single bad order does not reject its neighbours.
+     * Reading stops at the first request that cannot be read; everything before it is kept.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "orders.batch.create", description = "Time taken to ingest a batch of orders")
+    public BatchOrderResponse createOrders(Iterator<CreateOrderRequest> requests) {
+        logger.info("Starting batch order creation - Chunk size: {}", batchChunkSize);
+        
+        List<BatchOrderResponse.OrderResult> results = new ArrayList<>();
+        List<PendingOrder> chunk = new ArrayList<>(batchChunkSize);
+        String error = null;
+        int index = 0;
+        
+        while (true) {
+            CreateOrderRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                logger.warn("Stopping batch order creation at record {} - unreadable request: {}", index, e.getMessage());
+                error = "Unreadable order at index " + index + ": " + e.getMessage();
+                break;
+            }
+            
+            String validationError = validateOrderRequest(request);
+            if (validationError != null) {
+                results.add(BatchOrderResponse.OrderResult.rejected(index, validationError));
+            } else {
+                chunk.add(new PendingOrder(index, request));
+                if (chunk.size() == batchChunkSize) {
+                    persistChunk(chunk, results);
+                }
+            }
+            index++;
+        }
+        persistChunk(chunk, results);
+        
+        results.sort(Comparator.comparingInt(BatchOrderResponse.OrderResult::getIndex));
+        BatchOrderResponse response = new BatchOrderResponse(results, error);
+        logger.info("Batch order creation completed - Received: {}, Created: {}, Failed: {}", 
+            response.getReceived(), response.getCreated(), response.getFailed());
+        return response;
+    }
+    
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.get", description = "Time taken to get an order")
+    @Cacheable(cacheNames = CacheConfig.ORDERS_CACHE, key = "#orderId")
     public OrderResponse getOrder(String orderId) {
         logger.debug("Retrieving order - OrderId: {}", orderId);
         
-        Order order = orderRepository.findByOrderId(orderId)
+        // Orders that reached a terminal status may have been moved to the archive
+        CreationWindow created = CreationWindow.of(orderId);
+        OrderResponse order = orderRepository.findByOrderIdAndCreatedAtBetween(orderId, created.from(), created.to())
+                .map(OrderService::convertToResponse)
+                .or(() -> archivedOrderRepository.findByOrderIdAndCreatedAtBetween(orderId, created.from(), created.to())
+                        .map(OrderService::convertToResponse))
                 .orElseThrow(() -> {
                     logger.error("Order not found: {}", orderId);
-                    return new RuntimeException("Order not found: " + orderId);
+                    return new OrderNotFoundException(orderId);
                 });
         
         logger.debug("Order retrieved successfully - OrderId: {}, Status: {}", 
             orderId, order.getStatus());
-        return convertToResponse(order);
+        return order;
     }
     
-    public List<OrderResponse> getAllOrders() {
-        logger.debug("Retrieving all orders");
+    /**
+     * Version and last modification time of an order, for answering conditional reads.
+     * Served from the orders cache when the order is cached, otherwise from a projection
+     * that does not load the order's items.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderVersion> findOrderVersion(String orderId) {
+        OrderResponse cached = ordersCache.get(orderId, OrderResponse.class);
+        if (cached != null) {
+            return Optional.of(new OrderVersion(cached.getVersion(), cached.getUpdatedAt()));
+        }
+        CreationWindow created = CreationWindow.of(orderId);
+        return orderRepository.findVersionByOrderId(orderId, created.from(), created.to())
+                .or(() -> archivedOrderRepository.findVersionByOrderId(orderId, created.from(), created.to()));
+    }
+    
+    /**
+     * Get one page of orders using keyset pagination on the order id
+     * 
+     * @param cursor opaque cursor returned with the previous page, or null for the first page
+     * @param limit requested page size, clamped to the configured maximum
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.page", description = "Time taken to get a page of orders")
+    public OrderPage getOrdersPage(String cursor, Integer limit) {
+        long afterId = parseCursor(cursor);
+        int pageSize = resolvePageSize(limit);
+        logger.debug("Retrieving orders page - After id: {}, Page size: {}", afterId, pageSize);
+        
+        List<OrderRepository.OrderKey> keys = findPageKeys(afterId, pageSize);
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+        logger.debug("Found {} orders in page, has next: {}", keys.size(), hasNext);
         
-        List<Order> orders = orderRepository.findAll();
-        logger.debug("Found {} orders in database", orders.size());
+        if (keys.isEmpty()) {
+            return new OrderPage(List.of(), null, pageETag(List.of(), List.of(), false));
+        }
         
-        return orders.stream()
-                .map(this::convertToResponse)
+        // Load the page with its items in one round trip instead of one query per order
+        List<OrderResponse> responses = findWithItems(keys, Sort.by("id")).stream()
+                .map(OrderService::convertToResponse)
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? String.valueOf(keys.get(keys.size() - 1).getId()) : null;
+        // Tag the page as loaded, in case an order changed since its key was read
+        String etag = pageETag(
+                responses.stream().map(OrderResponse::getId).collect(Collectors.toList()),
+                responses.stream().map(OrderResponse::getVersion).collect(Collectors.toList()),
+                hasNext);
+        return new OrderPage(responses, nextCursor, etag);
     }
     
-    public OrderResponse updateOrderStatus(String orderId, OrderStatus status) {
-        logger.info("Updating order status - OrderId: {}, New Status: {}", orderId, status);
+    /**
+     * Get the orders changed after a changes cursor, oldest change first.
+     * updatedAt is stamped by the database clock when a change is written, up to one transaction before it
+     * commits. Only changes older than the settle window by the same clock are returned, so as long as
+     * no writing transaction runs longer than the window, none can land behind a cursor already handed out.
+     * The cost is proportional to the number of changes, not to the number of orders.
+     * 
+     * @param since cursor returned by the previous call, or null to start from the oldest order
+     * @param limit maximum number of orders, clamped to the configured maximum page size
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.changes", description = "Time taken to get orders changed since a cursor")
+    public OrderChanges getOrderChanges(String since, Integer limit) {
+        TimestampCursor cursor = TimestampCursor.parse(since, TimestampCursor.OLDEST);
+        int pageSize = resolvePageSize(limit);
+        logger.debug("Retrieving order changes - Since: {}/{}, Settle window: {}, Limit: {}",
+            cursor.timestamp(), cursor.id(), changesSettleWindow, pageSize);
+        
+        List<OrderRepository.OrderKey> keys = orderRepository.findChangedKeysAfter(
+                cursor.timestamp(), cursor.id(), changesSettleWindow.toMillis(), pageSize + 1);
+        boolean hasMore = keys.size() > pageSize;
+        if (hasMore) {
+            keys = keys.subList(0, pageSize);
+        }
+        if (keys.isEmpty()) {
+            return new OrderChanges(List.of(), cursor.encode(), false);
+        }
         
-        Order order = orderRepository.findByOrderId(orderId)
-                .orElseThrow(() -> {
-                    logger.error("Order not found for status update: {}", orderId);
-                    return new RuntimeException("Order not found: " + orderId);
-                });
+        List<Order> orders = findWithItems(keys, Sort.by("updatedAt", "id"));
+        List<OrderResponse> responses = orders.stream()
+                .map(OrderService::convertToResponse)
+                .collect(Collectors.toList());
+        // Resume after the last change as loaded; an order that changed again meanwhile is simply returned again later
+        Order last = orders.get(orders.size() - 1);
+        String nextCursor = new TimestampCursor(last.getUpdatedAt(), last.getId()).encode();
+        logger.debug("Found {} changed orders, has more: {}", responses.size(), hasMore);
+        return new OrderChanges(responses, nextCursor, hasMore);
+    }
+    
+    /**
+     * Get one page of a user's orders, newest first, using keyset pagination on (createdAt, id)
+     * 
+     * @param statuses only return orders in one of these statuses; null or empty for all
+     * @param cursor opaque cursor returned with the previous page, or null for the newest orders
+     * @param limit requested page size, clamped to the configured maximum
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.user.page", description = "Time taken to get a page of a user's orders")
+    public OrderPage getUserOrdersPage(String userId, List<OrderStatus> statuses, String cursor, Integer limit) {
+        TimestampCursor before = TimestampCursor.parse(cursor, TimestampCursor.NEWEST);
+        int pageSize = resolvePageSize(limit);
+        logger.debug("Retrieving orders page for user - UserId: {}, Statuses: {}, Before: {}/{}, Page size: {}",
+            userId, statuses, before.timestamp(), before.id(), pageSize);
+        
+        List<OrderRepository.OrderKey> keys = statuses == null || statuses.isEmpty()
+                ? orderRepository.findUserOrderKeysBefore(userId, before.timestamp(), before.id(), pageSize + 1)
+                : orderRepository.findUserOrderKeysBefore(userId, statuses.stream().map(OrderStatus::name).toList(),
+                        before.timestamp(), before.id(), pageSize + 1);
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+        logger.debug("Found {} orders in user page, has next: {}", keys.size(), hasNext);
+        
+        if (keys.isEmpty()) {
+            return new OrderPage(List.of(), null, pageETag(List.of(), List.of(), false));
+        }
+        
+        List<OrderResponse> responses = loadLiveOrArchived(keys);
+        OrderResponse last = responses.get(responses.size() - 1);
+        String nextCursor = hasNext ? new TimestampCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        String etag = pageETag(
+                responses.stream().map(OrderResponse::getId).collect(Collectors.toList()),
+                responses.stream().map(OrderResponse::getVersion).collect(Collectors.toList()),
+                hasNext);
+        return new OrderPage(responses, nextCursor, etag);
+    }
+    
+    /**
+     * ETag of the page {@link #getOrdersPage} would return, computed from order ids and versions only
+     */
+    @Transactional(readOnly = true)
+    public String getOrdersPageETag(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<OrderRepository.OrderKey> keys = findPageKeys(parseCursor(cursor), pageSize);
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+        return pageETag(
+                keys.stream().map(OrderRepository.OrderKey::getId).collect(Collectors.toList()),
+                keys.stream().map(OrderRepository.OrderKey::getVersion).collect(Collectors.toList()),
+                hasNext);
+    }
+    
+    /**
+     * Stream every order to the consumer as it is read from a database cursor.
+     * Orders are converted in chunks so their items are batch-fetched together, and the
+     * persistence context is cleared after each chunk so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public long streamAllOrders(Consumer<OrderResponse> consumer) {
+        logger.debug("Streaming all orders");
+        
+        long count = 0;
+        List<Order> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Order> orders = orderRepository.streamAllOrderedById()) {
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                chunk.add(order);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    count += emitChunk(chunk, consumer);
+                }
+            }
+        }
+        count += emitChunk(chunk, consumer);
         
-        OrderStatus oldStatus = order.getStatus();
-        logger.debug("Status transition: {} -> {}", oldStatus, status);
+        logger.debug("Streamed {} orders", count);
+        return count;
+    }
+    
+    private int emitChunk(List<Order> chunk, Consumer<OrderResponse> consumer) {
+        int size = chunk.size();
+        chunk.forEach(order -> consumer.accept(convertToResponse(order)));
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+    
+    /**
+     * Change the status of one order with a single conditional UPDATE (compare-and-set).
+     * The update only applies if the current status may transition to {@code status}, and,
+     * when {@code expectedStatus} is given, only if the order is still in that status.
+     * 
+     * @throws OrderStatusConflictException if the transition is not allowed or another update won the race
+     */
+    @Timed(value = "orders.status.update", description = "Time taken to update the status of an order")
+    public OrderResponse updateOrderStatus(String orderId, OrderStatus status, OrderStatus expectedStatus) {
+        logger.info("Updating order status - OrderId: {}, New Status: {}, Expected Status: {}", 
+            orderId, status, expectedStatus);
+        
+        List<String> fromStatuses = Arrays.stream(OrderStatus.values())
+                .filter(from -> from.canTransitionTo(status))
+                .filter(from -> expectedStatus == null || from == expectedStatus)
+                .map(OrderStatus::name)
+                .collect(Collectors.toList());
+        
+        CreationWindow created = CreationWindow.of(orderId);
+        List<OrderRepository.StatusChange> previous = fromStatuses.isEmpty() ? List.of()
+                : orderRepository.compareAndSetStatus(orderId, created.from(), created.to(), fromStatuses, status.name());
+        
+        if (previous.isEmpty()) {
+            // Archived orders are terminal, so they conflict with every requested status
+            OrderStatus currentStatus = orderRepository.findStatusByOrderId(orderId, created.from(), created.to())
+                    .or(() -> archivedOrderRepository.findStatusByOrderId(orderId, created.from(), created.to()))
+                    .orElseThrow(() -> {
+                        logger.error("Order not found for status update: {}", orderId);
+                        return new OrderNotFoundException(orderId);
+                    });
+            logger.warn("Status update rejected - OrderId: {}, Current: {}, Requested: {}, Expected: {}", 
+                orderId, currentStatus, status, expectedStatus);
+            throw new OrderStatusConflictException(orderId, currentStatus, status);
+        }
         
-        order.setStatus(status);
-        Order updatedOrder = orderRepository.save(order);
+        OrderStatus oldStatus = OrderStatus.valueOf(previous.get(0).getPreviousStatus());
+        LocalDateTime updatedAt = previous.get(0).getUpdatedAt();
+        ordersCache.evict(orderId);
         
         logger.info("Order status updated successfully - OrderId: {}, {} -> {}", 
             orderId, oldStatus, status);
         
-        // Notify gateway about status change
-        notifyGatewayStatusUpdate(orderId, status.name(), "Order status updated from " + oldStatus + " to " + status);
+        // Notify gateway about status change once this transaction commits
+        enqueueGatewayNotification(orderId, status.name(), "Order status updated from " + oldStatus + " to " + status);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(List.of(orderId), oldStatus, status, updatedAt));
         
+        Order updatedOrder = orderRepository.findByOrderIdAndCreatedAtBetween(orderId, created.from(), created.to())
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
         return convertToResponse(updatedOrder);
     }
     
     /**
      * Bulk update order status for orders with specific status
-     * This method finds all orders with the given status and updates them to the new status
+     * This method moves all orders with the given status to the new status using set-based
+     * updates, one bounded chunk per transaction
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "orders.status.bulk", description = "Time taken to move all orders from one status to another")
     public Map<String, Object> bulkUpdateOrderStatus(OrderStatus fromStatus, OrderStatus toStatus) {
         logger.info("Starting bulk status update - From: {}, To: {}", fromStatus, toStatus);
         
@@ -153,51 +477,21 @@ public class OrderService {
             throw new IllegalArgumentException("Invalid status transition from " + fromStatus + " to " + toStatus);
         }
         
-        // Get all orders with the current status
-        List<Order> ordersToUpdate = orderRepository.findByStatus(fromStatus);
-        logger.debug("Found {} orders with status {}", ordersToUpdate.size(), fromStatus);
-        
-        if (ordersToUpdate.isEmpty()) {
-            logger.info("No orders found with status {}", fromStatus);
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("message", "No orders found with status " + fromStatus);
-            result.put("updatedCount", 0);
-            result.put("fromStatus", fromStatus.name());
-            result.put("toStatus", toStatus.name());
-            return result;
-        }
-        
-        // Update all orders
-        int updatedCount = 0;
-        for (Order order : ordersToUpdate) {
-            try {
-                OrderStatus oldStatus = order.getStatus();
-                order.setStatus(toStatus);
-                orderRepository.save(order);
-                
-                logger.debug("Updated order {} from {} to {}", order.getOrderId(), oldStatus, toStatus);
-                
-                // Notify gateway about status change
-                notifyGatewayStatusUpdate(order.getOrderId(), toStatus.name(), 
-                    "Bulk status update from " + oldStatus + " to " + toStatus);
-                
-                updatedCount++;
-            } catch (Exception e) {
-                // Log error but continue with other orders
-                logger.error("Failed to update order {} from {} to {}", 
-                    order.getOrderId(), fromStatus, toStatus, e);
-            }
-        }
+        int updatedCount = transitionInChunks(fromStatus, toStatus, orderRepository.currentTimestamp(),
+            "Bulk status update from " + fromStatus + " to " + toStatus,
+            fromStatus.name().toLowerCase() + "_to_" + toStatus.name().toLowerCase(), ProgressionListener.NONE);
         
-        logger.info("Bulk status update completed - Updated: {}/{} orders from {} to {}", 
-            updatedCount, ordersToUpdate.size(), fromStatus, toStatus);
+        logger.info("Bulk status update completed - Updated: {} orders from {} to {}", 
+            updatedCount, fromStatus, toStatus);
         
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
-        result.put("message", "Successfully updated " + updatedCount + " orders from " + fromStatus + " to " + toStatus);
+        result.put("message", updatedCount == 0
+            ? "No orders found with status " + fromStatus
+            : "Successfully updated " + updatedCount + " orders from " + fromStatus + " to " + toStatus);
         result.put("updatedCount", updatedCount);
-        result.put("totalFound", ordersToUpdate.size());
+        // Every matching order is moved, so found and updated are the same count
+        result.put("totalFound", updatedCount);
         result.put("fromStatus", fromStatus.name());
         result.put("toStatus", toStatus.name());
         
@@ -207,12 +501,17 @@ public class OrderService {
     /**
      * Process all order status progressions automatically
      * 
-     * This method:
-     * 1. Gets all orders with target statuses (CONFIRMED, PREPARING, READY, OUT_FOR_DELIVERY)
-     * 2. Creates a map of orders by their current status
-     * 3. Updates each set of orders to their desired destination status
+     * This method advances every order in CONFIRMED, PREPARING, READY and OUT_FOR_DELIVERY
+     * by one step. Every step only moves orders that last changed before the run started, by the
+     * database clock, so an order is never advanced twice in the same run, even while runs on other
+     * replicas move orders into the next step's status. Each step is applied with set-based updates in
+     * bounded chunks, each committed in its own transaction. Every committed chunk is reported
+     * to the listener; when it asks to cancel, the run stops before the next chunk and the
+     * chunks committed so far are kept.
      */
-    public Map<String, Object> processAllStatusProgressions() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "orders.progression", description = "Time taken by a full bulk status progression run")
+    public Map<String, Object> processAllStatusProgressions(ProgressionListener listener) {
         logger.info("Starting order status progression processing");
         
         Map<String, Object> overallResult = new HashMap<>();
@@ -220,149 +519,405 @@ public class OrderService {
         overallResult.put("message", "Order status progression processing completed");
         overallResult.put("timestamp", java.time.Instant.now().toString());
         
-        // Define target statuses and their destination statuses
-        OrderStatus[] targetStatuses = {
-            OrderStatus.CONFIRMED,
-            OrderStatus.PREPARING, 
-            OrderStatus.READY,
-            OrderStatus.OUT_FOR_DELIVERY
-        };
-        
-        OrderStatus[] destinationStatuses = {
-            OrderStatus.PREPARING,
-            OrderStatus.READY,
-            OrderStatus.OUT_FOR_DELIVERY,
-            OrderStatus.DELIVERED
-        };
-        
-        String[] stepNames = {
-            "confirmed_to_preparing",
-            "preparing_to_ready", 
-            "ready_to_out_for_delivery",
-            "out_for_delivery_to_delivered"
-        };
-        
-        // Create a map of orders by their current status
-        Map<OrderStatus, List<Order>> ordersByStatus = new HashMap<>();
-        
-        // Get all orders with target statuses and group them by status
-        for (OrderStatus status : targetStatuses) {
-            List<Order> orders = orderRepository.findByStatus(status);
-            ordersByStatus.put(status, orders);
-        }
-        
         // Track results for each step
         Map<String, Object> stepResults = new HashMap<>();
+        List<String> failedSteps = new ArrayList<>();
         int totalUpdated = 0;
+        LocalDateTime startedAt = orderRepository.currentTimestamp();
         
-        // Process each status transition
-        for (int i = 0; i < targetStatuses.length; i++) {
-            OrderStatus fromStatus = targetStatuses[i];
-            OrderStatus toStatus = destinationStatuses[i];
-            String stepName = stepNames[i];
+        // Process each status transition, latest step first
+        for (int i = PROGRESSION_STEPS.length - 1; i >= 0 && !listener.isCancelled(); i--) {
+            OrderStatus fromStatus = PROGRESSION_STEPS[i].fromStatus();
+            OrderStatus toStatus = PROGRESSION_STEPS[i].toStatus();
+            String stepName = PROGRESSION_STEPS[i].name();
             
             logger.debug("Processing step: {} ({} -> {})", stepName, fromStatus, toStatus);
             
+            Timer.Sample stepTimer = Timer.start(meterRegistry);
             try {
-                List<Order> ordersToUpdate = ordersByStatus.get(fromStatus);
-                
-                if (ordersToUpdate == null || ordersToUpdate.isEmpty()) {
-                    logger.debug("No orders found for step {} with status {}", stepName, fromStatus);
-                    Map<String, Object> stepResult = new HashMap<>();
-                    stepResult.put("success", true);
-                    stepResult.put("fromStatus", fromStatus.toString());
-                    stepResult.put("toStatus", toStatus.toString());
-                    stepResult.put("updatedCount", 0);
-                    stepResult.put("totalFound", 0);
-                    stepResult.put("message", "No orders found with status " + fromStatus);
-                    stepResults.put(stepName, stepResult);
-                    continue;
-                }
+                int updatedCount = transitionInChunks(fromStatus, toStatus, startedAt,
+                    "Order status updated from " + fromStatus + " to " + toStatus, stepName, listener);
+                stepTimer.stop(progressionStepTimer(stepName, "success"));
+                meterRegistry.counter("orders.progression.updated", "step", stepName).increment(updatedCount);
                 
-                // Update all found orders to the destination status
-                int updatedCount = 0;
-                logger.debug("Found {} orders to update from {} to {}", ordersToUpdate.size(), fromStatus, toStatus);
-                
-                for (Order order : ordersToUpdate) {
-                    if (order.getStatus().canTransitionTo(toStatus)) {
-                        order.setStatus(toStatus);
-                        order.setUpdatedAt(java.time.LocalDateTime.now());
-                        orderRepository.save(order);
-                        
-                        logger.debug("Updated order {} from {} to {}", order.getOrderId(), fromStatus, toStatus);
-                        
-                        // Notify gateway about the status change
-                        notifyGatewayStatusUpdate(
-                            order.getOrderId(), 
-                            toStatus.toString(), 
-                            "Order status updated from " + fromStatus + " to " + toStatus
-                        );
-                        
-                        updatedCount++;
-                    } else {
-                        logger.debug("Skipping order {} - invalid transition from {} to {}", 
-                            order.getOrderId(), order.getStatus(), toStatus);
-                    }
-                }
-                
-                logger.info("Step {} completed - Updated: {}/{} orders from {} to {}", 
-                    stepName, updatedCount, ordersToUpdate.size(), fromStatus, toStatus);
+                logger.info("Step {} completed - Updated: {} orders from {} to {}", 
+                    stepName, updatedCount, fromStatus, toStatus);
                 
                 Map<String, Object> stepResult = new HashMap<>();
                 stepResult.put("success", true);
                 stepResult.put("fromStatus", fromStatus.toString());
                 stepResult.put("toStatus", toStatus.toString());
                 stepResult.put("updatedCount", updatedCount);
-                stepResult.put("totalFound", ordersToUpdate.size());
-                stepResult.put("message", "Successfully updated " + updatedCount + " orders from " + fromStatus + " to " + toStatus);
+                stepResult.put("totalFound", updatedCount);
+                stepResult.put("message", updatedCount == 0
+                    ? "No orders found with status " + fromStatus
+                    : "Successfully updated " + updatedCount + " orders from " + fromStatus + " to " + toStatus);
                 stepResults.put(stepName, stepResult);
                 
                 totalUpdated += updatedCount;
                 
             } catch (Exception e) {
+                stepTimer.stop(progressionStepTimer(stepName, "error"));
                 logger.error("Step {} failed - {} -> {}", stepName, fromStatus, toStatus, e);
                 Map<String, Object> errorResult = new HashMap<>();
                 errorResult.put("success", false);
                 errorResult.put("message", fromStatus + " -> " + toStatus + " failed: " + e.getMessage());
                 stepResults.put(stepName, errorResult);
+                failedSteps.add(stepName);
             }
         }
         
-        logger.info("Order status progression processing completed - Total orders updated: {}", totalUpdated);
+        if (!failedSteps.isEmpty()) {
+            overallResult.put("success", false);
+            overallResult.put("message", "Order status progression failed in steps: " + String.join(", ", failedSteps));
+        }
+        
+        logger.info("Order status progression processing {} - Total orders updated: {}", 
+            listener.isCancelled() ? "cancelled" : "completed", totalUpdated);
         
+        overallResult.put("cancelled", listener.isCancelled());
         overallResult.put("totalOrdersUpdated", totalUpdated);
         overallResult.put("stepResults", stepResults);
         
         return overallResult;
     }
     
+    private Timer progressionStepTimer(String stepName, String outcome) {
+        return Timer.builder("orders.progression.step")
+                .description("Time taken by one step of the bulk status progression")
+                .tag("step", stepName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Advance at most {@code limit} orders that have spent at least {@code dwell} in {@code fromStatus}, measured
+     * by the database clock, oldest first, in a single transaction. Used by the progression scheduler.
+     * 
+     * @return number of orders advanced
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "orders.progression.due", description = "Time taken to advance one batch of due orders")
+    public int advanceDueOrders(OrderStatus fromStatus, OrderStatus toStatus, Duration dwell, int limit) {
+        List<String> orderIds = transitionChunk(fromStatus, toStatus, "Order status updated from " + fromStatus + " to " + toStatus,
+            () -> orderRepository.transitionDueStatusChunk(fromStatus.name(), toStatus.name(), dwell.toMillis(), limit));
+        
+        int updatedCount = orderIds == null ? 0 : orderIds.size();
+        if (updatedCount > 0) {
+            logger.debug("Advanced {} due orders from {} to {}", updatedCount, fromStatus, toStatus);
+        }
+        return updatedCount;
+    }
+    
     /**
-     * Notify gateway about order status changes
+     * Move every order in {@code fromStatus} that last changed before {@code startedAt} to {@code toStatus}
+     * with one UPDATE ... RETURNING per chunk. Each chunk commits on its own, so no row locks or entities
+     * are held across the run, and a failure or cancellation only loses the chunk in flight. Chunks are
+     * claimed with SKIP LOCKED, so runs on several replicas work through disjoint chunks in parallel; a run
+     * stops once it finds no unclaimed orders left.
+     * 
+     * @param startedAt database time the run started at; orders changed since are left for the next run
+     * @return number of orders updated
      */
-    private void notifyGatewayStatusUpdate(String orderId, String status, String message) {
-        logger.debug("Notifying gateway about status update - OrderId: {}, Status: {}", orderId, status);
+    private int transitionInChunks(OrderStatus fromStatus, OrderStatus toStatus, LocalDateTime startedAt,
+                                   String message, String stepName, ProgressionListener listener) {
+        int updatedCount = 0;
+        List<String> orderIds;
+        do {
+            if (listener.isCancelled()) {
+                logger.info("Transition from {} to {} cancelled after {} orders", fromStatus, toStatus, updatedCount);
+                break;
+            }
+            orderIds = transitionChunk(fromStatus, toStatus, message,
+                () -> orderRepository.transitionStatusChunk(fromStatus.name(), toStatus.name(), startedAt, bulkChunkSize));
+            if (orderIds == null || orderIds.isEmpty()) {
+                break;
+            }
+            updatedCount += orderIds.size();
+            listener.onChunkCommitted(stepName, orderIds.size());
+            logger.debug("Updated chunk of {} orders from {} to {}", orderIds.size(), fromStatus, toStatus);
+        } while (!orderIds.isEmpty());
         
-        try {
-            Map<String, Object> statusUpdateRequest = new HashMap<>();
-            statusUpdateRequest.put("orderId", orderId);
-            statusUpdateRequest.put("status", status);
-            statusUpdateRequest.put("message", message);
-            statusUpdateRequest.put("updatedBy", "order-service");
+        return updatedCount;
+    }
+    
+    /**
+     * Run one set-based transition in its own transaction, evicting the moved orders from the cache
+     * and queueing their gateway notifications in the same commit
+     * 
+     * @param update runs the transition and returns the moved orders with their new updated_at
+     */
+    private List<String> transitionChunk(OrderStatus fromStatus, OrderStatus toStatus, String message,
+                                         Supplier<List<OrderRepository.ChangedOrder>> update) {
+        return transactionTemplate.execute(status -> {
+            List<OrderRepository.ChangedOrder> changed = update.get();
+            List<String> updated = changed.stream().map(OrderRepository.ChangedOrder::getOrderId).collect(Collectors.toList());
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            // Drop cached copies once the chunk commits
+            updated.forEach(ordersCache::evict);
             
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(statusUpdateRequest, headers);
+            // Push the changes to live subscribers once the chunk commits
+            if (!updated.isEmpty()) {
+                // One statement stamps the whole chunk, so every order carries the same updated_at
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(updated, fromStatus, toStatus,
+                        changed.get(0).getUpdatedAt()));
+            }
             
-            restTemplate.postForObject(gatewayStatusUpdateUrl, entity, Map.class);
-            logger.debug("Gateway notification sent successfully for orderId: {}", orderId);
+            // Notify gateway about the status changes, committed together with the chunk
+            outboxRepository.saveAll(updated.stream()
+                .map(orderId -> new OrderStatusOutboxEvent(orderId, toStatus.name(), message))
+                .collect(Collectors.toList()));
+            return updated;
+        });
+    }
+    
+    /**
+     * Move at most {@code limit} terminal orders that have not changed for {@code archiveAfter}, measured by
+     * the database clock, into the archive tables, in a single transaction. Reads of an archived order fall back to the
+     * archive, so the cache entry of a moved order stays valid and is left in place.
+     * 
+     * @return number of orders archived
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "orders.archive", description = "Time taken to archive one batch of terminal orders")
+    public int archiveTerminalOrders(Duration archiveAfter, int limit) {
+        List<String> terminalStatuses = Arrays.stream(OrderStatus.values())
+                .filter(OrderStatus::isTerminal)
+                .map(OrderStatus::name)
+                .collect(Collectors.toList());
+        
+        List<String> archived = transactionTemplate.execute(status -> orderRepository.archiveTerminalOrders(
+                terminalStatuses, archiveAfter.toMillis(), limit));
+        
+        int archivedCount = archived == null ? 0 : archived.size();
+        if (archivedCount > 0) {
+            logger.debug("Archived {} terminal orders unchanged for {}", archivedCount, archiveAfter);
+        }
+        return archivedCount;
+    }
+    
+    private Order buildOrder(String orderId, CreateOrderRequest request) {
+        // Create order items
+        List<OrderItem> orderItems = request.getItems().stream()
+                .map(item -> new OrderItem(
+                        item.getItemId(),
+                        item.getItemName(),
+                        item.getQuantity(),
+                        item.getPrice()
+                ))
+                .collect(Collectors.toList());
+        
+        logger.debug("Created {} order items", orderItems.size());
+        
+        // Calculate total
+        Double total = calculateTotal(orderItems);
+        
+        logger.debug("Order total calculated: {}", total);
+        
+        // Create order
+        Order order = new Order(orderId, orderItems, total, OrderStatus.PENDING);
+        order.setUserId(request.getUserId());
+        
+        // Set order reference in items
+        orderItems.forEach(item -> item.setOrder(order));
+        return order;
+    }
+    
+    /**
+     * Persist one chunk of validated batch orders in a single transaction,
+     * falling back to one transaction per order when the chunk cannot be committed
+     */
+    private void persistChunk(List<PendingOrder> chunk, List<BatchOrderResponse.OrderResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<BatchOrderResponse.OrderResult> created = transactionTemplate.execute(status -> saveOrders(chunk));
+            results.addAll(created);
+            logger.debug("Persisted batch chunk of {} orders", chunk.size());
         } catch (Exception e) {
-            // Log the error but don't fail the order update
-            logger.error("Failed to notify gateway about status update for orderId: {}", orderId, e);
+            logger.warn("Batch chunk of {} orders failed, retrying orders individually: {}", chunk.size(), e.getMessage());
+            for (PendingOrder pending : chunk) {
+                try {
+                    results.addAll(transactionTemplate.execute(status -> saveOrders(List.of(pending))));
+                } catch (Exception orderError) {
+                    logger.error("Failed to create batch order at index {}", pending.index(), orderError);
+                    results.add(BatchOrderResponse.OrderResult.failed(pending.index(), orderError.getMessage()));
+                }
+            }
+        }
+        chunk.clear();
+    }
+    
+    private List<BatchOrderResponse.OrderResult> saveOrders(List<PendingOrder> pendingOrders) {
+        List<Order> orders = new ArrayList<>(pendingOrders.size());
+        List<BatchOrderResponse.OrderResult> created = new ArrayList<>(pendingOrders.size());
+        for (PendingOrder pending : pendingOrders) {
+            String orderId = orderIdGenerator.nextId();
+            orders.add(buildOrder(orderId, pending.request()));
+            created.add(BatchOrderResponse.OrderResult.created(pending.index(), orderId));
+        }
+        orderRepository.saveAll(orders);
+        orderRepository.flush();
+        entityManager.clear();
+        return created;
+    }
+    
+    /**
+     * @return a description of what is wrong with the request, or null when it can be persisted
+     */
+    private String validateOrderRequest(CreateOrderRequest request) {
+        if (request == null) {
+            return "Order is empty";
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return "Order has no items";
+        }
+        for (CreateOrderRequest.OrderItemRequest item : request.getItems()) {
+            if (item == null || item.getItemId() == null || item.getItemName() == null) {
+                return "Every item needs an itemId and itemName";
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                return "Invalid quantity for item " + item.getItemId() + ": " + item.getQuantity();
+            }
+            if (item.getPrice() == null || item.getPrice() < 0) {
+                return "Invalid price for item " + item.getItemId() + ": " + item.getPrice();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Record a gateway notification for an order status change in the outbox.
+     * Must run in the same transaction as the status change; delivery happens in the background.
+     */
+    private void enqueueGatewayNotification(String orderId, String status, String message) {
+        logger.debug("Queueing gateway notification for status update - OrderId: {}, Status: {}", orderId, status);
+        outboxRepository.save(new OrderStatusOutboxEvent(orderId, status, message));
+    }
+    
+    private long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    /**
+     * Load orders by key from the live tables, then whatever is missing from the archive,
+     * newest first by (createdAt, id)
+     */
+    private List<OrderResponse> loadLiveOrArchived(List<OrderRepository.OrderKey> keys) {
+        List<OrderResponse> responses = findWithItems(keys, Sort.unsorted()).stream()
+                .map(OrderService::convertToResponse)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (responses.size() < keys.size()) {
+            Set<Long> live = responses.stream().map(OrderResponse::getId).collect(Collectors.toSet());
+            List<OrderRepository.OrderKey> archived = keys.stream()
+                    .filter(key -> !live.contains(key.getId()))
+                    .collect(Collectors.toList());
+            archivedOrderRepository.findWithItemsByIdInAndCreatedAtBetween(ids(archived),
+                            oldestCreatedAt(archived), newestCreatedAt(archived)).stream()
+                    .map(OrderService::convertToResponse)
+                    .forEach(responses::add);
+        }
+        responses.sort(Comparator.comparing(OrderResponse::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(OrderResponse::getId)
+                .reversed());
+        return responses;
+    }
+    
+    /**
+     * Load the orders of the given keys with their items, bounded by the keys' creation times
+     * so only the partitions holding them are read
+     */
+    private List<Order> findWithItems(List<OrderRepository.OrderKey> keys, Sort sort) {
+        return orderRepository.findWithItemsByIdInAndCreatedAtBetween(ids(keys),
+                oldestCreatedAt(keys), newestCreatedAt(keys), sort);
+    }
+    
+    private static List<Long> ids(List<OrderRepository.OrderKey> keys) {
+        return keys.stream().map(OrderRepository.OrderKey::getId).collect(Collectors.toList());
+    }
+    
+    private static LocalDateTime oldestCreatedAt(List<OrderRepository.OrderKey> keys) {
+        return keys.stream().map(OrderRepository.OrderKey::getCreatedAt).min(Comparator.naturalOrder()).orElseThrow();
+    }
+    
+    private static LocalDateTime newestCreatedAt(List<OrderRepository.OrderKey> keys) {
+        return keys.stream().map(OrderRepository.OrderKey::getCreatedAt).max(Comparator.naturalOrder()).orElseThrow();
+    }
+    
+    /**
+     * Keys of the next page, with one extra entry to find out whether another page follows
+     */
+    private List<OrderRepository.OrderKey> findPageKeys(long afterId, int pageSize) {
+        return orderRepository.findKeysAfter(afterId, Limit.of(pageSize + 1));
+    }
+    
+    /**
+     * Digest of the (id, version) pairs of a page and whether another page follows it.
+     * Any status change bumps an order's version, so the digest changes whenever the page's content does.
+     */
+    static String pageETag(List<Long> ids, List<Long> versions, boolean hasNext) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.size() * 2 * Long.BYTES + 1);
+        for (int i = 0; i < ids.size(); i++) {
+            buffer.putLong(ids.get(i));
+            buffer.putLong(versions.get(i) != null ? versions.get(i) : 0L);
         }
+        buffer.put((byte) (hasNext ? 1 : 0));
+        return DigestUtils.md5DigestAsHex(buffer.array());
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    /**
+     * Sum of price * quantity over the order items
+     */
+    static Double calculateTotal(List<OrderItem> orderItems) {
+        return orderItems.stream()
+                .mapToDouble(item -> item.getPrice() * item.getQuantity())
+                .sum();
+    }
+    
+    static OrderResponse convertToResponse(Order order) {
+        List<OrderResponse.OrderItemResponse> itemResponses = order.getItems().stream()
+                .map(item -> new OrderResponse.OrderItemResponse(
+                        item.getId(),
+                        item.getItemId(),
+                        item.getItemName(),
+                        item.getQuantity(),
+                        item.getPrice()
+                ))
+                .collect(Collectors.toList());
+        
+        return new OrderResponse(
+                order.getId(),
+                order.getOrderId(),
+                order.getUserId(),
+                itemResponses,
+                order.getTotal(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getVersion()
+        );
     }
     
-    private OrderResponse convertToResponse(Order order) {
+    static OrderResponse convertToResponse(ArchivedOrder order) {
         List<OrderResponse.OrderItemResponse> itemResponses = order.getItems().stream()
                 .map(item -> new OrderResponse.OrderItemResponse(
                         item.getId(),
@@ -376,11 +931,67 @@ public class OrderService {
         return new OrderResponse(
                 order.getId(),
                 order.getOrderId(),
+                order.getUserId(),
                 itemResponses,
                 order.getTotal(),
                 order.getStatus(),
                 order.getCreatedAt(),
-                order.getUpdatedAt()
+                order.getUpdatedAt(),
+                order.getVersion()
         );
     }
+    
+    record ProgressionStep(String name, OrderStatus fromStatus, OrderStatus toStatus) {}
+    
+    /**
+     * Keyset position on a (timestamp, id) ordering: the last row returned,
+     * exchanged with clients as an opaque base64url token
+     */
+    record TimestampCursor(LocalDateTime timestamp, long id) {
+        
+        // Before every row in ascending order (changes feed)
+        static final TimestampCursor OLDEST = new TimestampCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+        // Before every row in descending order (user history)
+        static final TimestampCursor NEWEST = new TimestampCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+        
+        static TimestampCursor parse(String cursor, TimestampCursor start) {
+            if (cursor == null || cursor.isBlank()) {
+                return start;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf(',');
+                return new TimestampCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((timestamp + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    /**
+     * Range of created_at an order can have. Time-ordered order ids carry their creation time, and the order's
+     * created_at is stamped right after the id is issued, so lookups by such an id only visit the one or two
+     * monthly partitions around it. Any other id may belong to an order in any partition.
+     */
+    record CreationWindow(LocalDateTime from, LocalDateTime to) {
+        
+        // Covers clock differences between pods and ids running ahead of the clock under bursts
+        private static final Duration TOLERANCE = Duration.ofDays(1);
+        static final CreationWindow ANY = new CreationWindow(TimestampCursor.OLDEST.timestamp(), TimestampCursor.NEWEST.timestamp());
+        
+        static CreationWindow of(String orderId) {
+            return TimeOrderedOrderIdGenerator.timestampOf(orderId)
+                    .map(issuedAt -> LocalDateTime.ofInstant(issuedAt, ZoneId.systemDefault()))
+                    .map(issuedAt -> new CreationWindow(issuedAt.minus(TOLERANCE), issuedAt.plus(TOLERANCE)))
+                    .orElse(ANY);
+        }
+    }
+    
+    private record PendingOrder(int index, CreateOrderRequest request) {}
 }
@@ -0,0 +1,316 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.dto.OrderStatusBulkEvent;
+import com.foodybuddy.orders.dto.OrderStatusEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Order Status Broadcaster
+ *
+ * Pushes committed order status changes to Server-Sent Events subscribers.
+ *
+ * Key responsibilities:
+ * - Index subscribers by order id, plus a set of subscribers to every order, so a change only touches its own subscribers
+ * - Hold idle subscribers without threads: connections are async requests, and a small pool only runs while there is
+ *   something to send
+ * - Apply backpressure per connection: pending changes are coalesced per order (latest status wins), and a subscriber
+ *   that falls more than the queue capacity behind is disconnected so it can reconnect and resync
+ * - Send a bulk or scheduler chunk to subscribers of every order as one summary event, so a chunk larger than the
+ *   queue capacity does not disconnect them
+ * - Receive the changes committed on other replicas from the {@link OrderStatusChangeRelay}
+ * - Send periodic heartbeats so dead connections are detected and proxies keep idle streams open
+ */
+@Component
+@Lazy(false)
+public class OrderStatusBroadcaster implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusBroadcaster.class);
+    private final Map<String, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allOrdersSubscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final long subscriptionTimeoutMillis;
+    private final int queueCapacity;
+    private final Counter overflowCounter;
+    private final AtomicLong bulkEventSequence = new AtomicLong();
+
+    public OrderStatusBroadcaster(MeterRegistry meterRegistry,
+                                  @Value("${orders.events.subscription-timeout:30m}") Duration subscriptionTimeout,
+                                  @Value("${orders.events.queue-capacity:256}") int queueCapacity,
+                                  @Value("${orders.events.send-threads:8}") int sendThreads) {
+        this.subscriptionTimeoutMillis = subscriptionTimeout.toMillis();
+        this.queueCapacity = queueCapacity;
+
+        this.sendExecutor = new ThreadPoolTaskExecutor();
+        this.sendExecutor.setCorePoolSize(sendThreads);
+        this.sendExecutor.setMaxPoolSize(sendThreads);
+        this.sendExecutor.setThreadNamePrefix("order-events-");
+        this.sendExecutor.initialize();
+
+        this.overflowCounter = Counter.builder("orders.events.overflow")
+                .description("Event stream subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+
+        logger.info("OrderStatusBroadcaster initialized with queue capacity: {}, send threads: {}, timeout: {}",
+            queueCapacity, sendThreads, subscriptionTimeout);
+    }
+
+    /**
+     * Open an event stream for one order, starting with its current status.
+     * The subscriber is registered before the current status is read, so no change can fall in between;
+     * a snapshot older than an already delivered change is dropped. If reading the current status fails,
+     * the subscriber is removed again and the failure propagates unchanged.
+     */
+    public SseEmitter subscribe(String orderId, Supplier<OrderStatusEvent> currentStatus) {
+        Subscriber subscriber = new Subscriber(orderId);
+        orderSubscribers.compute(orderId, (id, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        boolean subscribed = false;
+        try {
+            subscriber.offer(currentStatus.get());
+            subscribed = true;
+        } finally {
+            if (!subscribed) {
+                subscriber.close();
+            }
+        }
+        logger.debug("Subscribed to status events for orderId: {}", orderId);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Open an event stream for status changes of every order
+     */
+    public SseEmitter subscribeAll() {
+        Subscriber subscriber = new Subscriber(null);
+        allOrdersSubscribers.add(subscriber);
+        logger.debug("Subscribed to status events for all orders");
+        return subscriber.emitter;
+    }
+
+    /**
+     * Fan a status change committed by this replica out to its subscribers
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        publish(event);
+    }
+
+    /**
+     * Fan a committed status change out to its subscribers. Only enqueues; sending happens on the send pool.
+     * Subscribers of a single order get one event per order; subscribers of every order get one event for a
+     * single change and one summary event for a change of many orders.
+     */
+    public void publish(OrderStatusChangedEvent event) {
+        for (String orderId : event.orderIds()) {
+            Set<Subscriber> subscribers = orderSubscribers.get(orderId);
+            if (subscribers != null) {
+                OrderStatusEvent statusEvent = new OrderStatusEvent(orderId, event.toStatus(), event.fromStatus(), event.changedAt());
+                subscribers.forEach(subscriber -> subscriber.offer(orderId, statusEvent));
+            }
+        }
+        if (allOrdersSubscribers.isEmpty() || event.orderIds().isEmpty()) {
+            return;
+        }
+        if (event.orderIds().size() == 1) {
+            String orderId = event.orderIds().get(0);
+            OrderStatusEvent statusEvent = new OrderStatusEvent(orderId, event.toStatus(), event.fromStatus(), event.changedAt());
+            allOrdersSubscribers.forEach(subscriber -> subscriber.offer(orderId, statusEvent));
+        } else {
+            OrderStatusBulkEvent bulkEvent = new OrderStatusBulkEvent(event.orderIds(), event.toStatus(), event.fromStatus(), event.changedAt());
+            String key = "bulk-" + bulkEventSequence.incrementAndGet();
+            allOrdersSubscribers.forEach(subscriber -> subscriber.offer(key, bulkEvent));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-interval:30000}")
+    public void sendHeartbeats() {
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+        allOrdersSubscribers.forEach(Subscriber::heartbeat);
+    }
+
+    /**
+     * Publish the number of open streams; bound by Spring Boot once the broadcaster is fully constructed
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.events.subscribers", this, OrderStatusBroadcaster::subscriberCount)
+                .description("Open order status event streams")
+                .register(registry);
+    }
+
+    private double subscriberCount() {
+        return allOrdersSubscribers.size() + orderSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.orderId == null) {
+            allOrdersSubscribers.remove(subscriber);
+            return;
+        }
+        orderSubscribers.computeIfPresent(subscriber.orderId, (orderId, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("Closing {} status event streams", (long) subscriberCount());
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::disconnect));
+        allOrdersSubscribers.forEach(Subscriber::disconnect);
+        sendExecutor.shutdown();
+    }
+
+    /**
+     * One event stream connection. Pending events are coalesced per order (bulk summaries each have their
+     * own key) and sent by at most one send-pool thread at a time.
+     */
+    private final class Subscriber {
+
+        private final String orderId;
+        private final SseEmitter emitter = new SseEmitter(subscriptionTimeoutMillis);
+        private final Map<String, Object> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean heartbeatPending;
+        private LocalDateTime lastChangedAt;
+        private volatile boolean closed;
+
+        Subscriber(String orderId) {
+            this.orderId = orderId;
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(e -> close());
+        }
+
+        void offer(OrderStatusEvent event) {
+            offer(event.getOrderId(), event);
+        }
+
+        void offer(String key, Object event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                // A change older than the one already queued or sent for a single-order stream is stale
+                if (orderId != null && event instanceof OrderStatusEvent statusEvent) {
+                    if (lastChangedAt != null && statusEvent.getChangedAt() != null
+                            && statusEvent.getChangedAt().isBefore(lastChangedAt)) {
+                        return;
+                    }
+                    lastChangedAt = statusEvent.getChangedAt();
+                }
+                pending.put(key, event);
+            }
+            if (pendingCount() > queueCapacity) {
+                logger.warn("Disconnecting slow status event subscriber after {} pending orders", queueCapacity);
+                overflowCounter.increment();
+                disconnect();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private synchronized int pendingCount() {
+            return pending.size();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatPending = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false);
+                    logger.warn("Failed to schedule status event delivery: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                List<Map.Entry<String, Object>> batch = new ArrayList<>();
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    pending.forEach((key, event) -> batch.add(Map.entry(key, event)));
+                    pending.clear();
+                    sendHeartbeat = heartbeatPending;
+                    heartbeatPending = false;
+                }
+                try {
+                    for (Map.Entry<String, Object> event : batch) {
+                        emitter.send(SseEmitter.event()
+                                .name(event.getValue() instanceof OrderStatusBulkEvent ? "bulk-status" : "status")
+                                .id(event.getKey())
+                                .data(event.getValue(), MediaType.APPLICATION_JSON));
+                    }
+                    if (sendHeartbeat && batch.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (Exception e) {
+                    logger.debug("Status event stream closed while sending: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                    close();
+                }
+                draining.set(false);
+            } while (hasPending() && draining.compareAndSet(false, true));
+        }
+
+        private synchronized boolean hasPending() {
+            return !closed && (!pending.isEmpty() || heartbeatPending);
+        }
+
+        void disconnect() {
+            close();
+            emitter.complete();
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.foodybuddy.orders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order Status Change Relay
+ *
+ * Carries committed status changes between replicas over Postgres LISTEN/NOTIFY, so event stream subscribers
+ * see changes made by every replica's status updates, scheduler and bulk jobs, not only their own.
+ *
+ * Key responsibilities:
+ * - NOTIFY each status change inside the transaction that makes it; Postgres only delivers it once that commits
+ * - LISTEN on a dedicated connection outside the pool and hand other replicas' changes to the broadcaster
+ * - Reconnect after a lost connection; changes committed while disconnected are not replayed
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "orders.events.cross-replica.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatusChangeRelay implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusChangeRelay.class);
+    static final String CHANNEL = "order_status_changed";
+    // NOTIFY payloads are limited to 8000 bytes; 150 order ids stay well below that
+    private static final int MAX_ORDER_IDS_PER_NOTIFICATION = 150;
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final OrderStatusBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    record StatusChangeNotification(String origin, List<String> orderIds, OrderStatus fromStatus,
+                                    OrderStatus toStatus, LocalDateTime changedAt) {
+    }
+
+    public OrderStatusChangeRelay(JdbcTemplate jdbcTemplate,
+                                  DataSourceProperties dataSourceProperties,
+                                  OrderStatusBroadcaster broadcaster,
+                                  ObjectMapper objectMapper,
+                                  @Value("${orders.events.cross-replica.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+        this.reconnectDelay = reconnectDelay;
+        logger.info("OrderStatusChangeRelay initialized - channel: {}, instance: {}", CHANNEL, instanceId);
+    }
+
+    /**
+     * Queue the change for the other replicas. Runs before commit so the notification is part of the
+     * transaction: it is delivered when the change commits and discarded when it rolls back.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        List<String> orderIds = event.orderIds();
+        for (int from = 0; from < orderIds.size(); from += MAX_ORDER_IDS_PER_NOTIFICATION) {
+            List<String> chunk = orderIds.subList(from, Math.min(from + MAX_ORDER_IDS_PER_NOTIFICATION, orderIds.size()));
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(new StatusChangeNotification(
+                        instanceId, chunk, event.fromStatus(), event.toStatus(), event.changedAt()));
+            } catch (JsonProcessingException e) {
+                logger.warn("Failed to notify other replicas of {} status changes: {}", chunk.size(), e.getMessage());
+                continue;
+            }
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, CHANNEL, payload);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().name("order-status-relay").daemon().start(this::listen);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.info("Listening for status changes from other replicas on channel {}", CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            relay(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Lost status change listener connection, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void relay(String payload) {
+        try {
+            StatusChangeNotification notification = objectMapper.readValue(payload, StatusChangeNotification.class);
+            if (instanceId.equals(notification.origin())) {
+                // Already published locally after commit
+                return;
+            }
+            broadcaster.publish(new OrderStatusChangedEvent(notification.orderIds(), notification.fromStatus(),
+                    notification.toStatus(), notification.changedAt()));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable status change notification: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        Connection connection = listenConnection;
+        if (connection != null) {
+            try {
+                // Unblocks the listener thread waiting for notifications
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close status change listener connection: {}", e.getMessage());
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Application event for one or more orders that moved from {@code fromStatus} to {@code toStatus}
+ * in the same transaction. {@code changedAt} is the updated_at written with the change.
+ */
+public record OrderStatusChangedEvent(List<String> orderIds, OrderStatus fromStatus, OrderStatus toStatus,
+                                      LocalDateTime changedAt) {
+}
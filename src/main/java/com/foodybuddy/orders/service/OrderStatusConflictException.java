@@ -0,0 +1,35 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+
+/**
+ * Thrown when a status update is not allowed from the order's current status,
+ * or when another update changed the status first
+ */
+public class OrderStatusConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String orderId;
+    private final OrderStatus currentStatus;
+    private final OrderStatus requestedStatus;
+
+    public OrderStatusConflictException(String orderId, OrderStatus currentStatus, OrderStatus requestedStatus) {
+        super("Cannot change order " + orderId + " from " + currentStatus + " to " + requestedStatus);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+        this.requestedStatus = requestedStatus;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public OrderStatus getRequestedStatus() {
+        return requestedStatus;
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+import com.foodybuddy.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the number of orders in each status as the orders.status.count gauge.
+ * Counts are refreshed on a schedule so metric scrapes never hit the database.
+ */
+@Component
+@Lazy(false)
+public class OrderStatusMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusMetrics.class);
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, AtomicLong> counts = new EnumMap<>(OrderStatus.class);
+
+    public OrderStatusMetrics(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder("orders.status.count", count, AtomicLong::get)
+                    .description("Number of orders in each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.metrics.status-count-refresh-interval:30000}")
+    public void refreshStatusCounts() {
+        try {
+            Map<OrderStatus, Long> latest = new EnumMap<>(OrderStatus.class);
+            orderRepository.countByStatus().forEach(row -> {
+                if (row.getStatus() != null) {
+                    latest.put(row.getStatus(), row.getCount());
+                }
+            });
+            counts.forEach((status, count) -> count.set(latest.getOrDefault(status, 0L)));
+            logger.debug("Refreshed order status counts: {}", latest);
+        } catch (Exception e) {
+            logger.warn("Failed to refresh order status counts: {}", e.getMessage());
+        }
+    }
+}
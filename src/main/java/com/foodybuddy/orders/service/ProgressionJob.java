@@ -0,0 +1,158 @@
+package com.foodybuddy.orders.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of one background bulk progression run
+ */
+public class ProgressionJob implements ProgressionListener {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String jobId;
+    private final Instant submittedAt = Instant.now();
+    private final Map<String, AtomicLong> updatedBySteps = new LinkedHashMap<>();
+    private final Map<String, Long> expectedBySteps = new HashMap<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Map<String, Object> result;
+
+    ProgressionJob(String jobId) {
+        this.jobId = jobId;
+        for (OrderService.ProgressionStep step : OrderService.PROGRESSION_STEPS) {
+            updatedBySteps.put(step.name(), new AtomicLong());
+        }
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Mark the job as running
+     *
+     * @param expectedBySteps orders waiting in each step's source status when the run starts
+     * @return false if the job was cancelled before it started
+     */
+    synchronized boolean start(Map<String, Long> expectedBySteps) {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        this.expectedBySteps.putAll(expectedBySteps);
+        this.startedAt = Instant.now();
+        this.status = Status.RUNNING;
+        return true;
+    }
+
+    /**
+     * Mark the job as finished with the run's result. A run with a failed step ends as FAILED,
+     * even though the other steps went through.
+     */
+    synchronized void complete(Map<String, Object> result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        if (Boolean.FALSE.equals(result.get("success"))) {
+            this.error = String.valueOf(result.get("message"));
+            this.status = Status.FAILED;
+        } else {
+            this.status = cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+        }
+    }
+
+    synchronized void fail(Exception e) {
+        this.error = e.getMessage();
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    /**
+     * Request cancellation. A queued job is cancelled right away, a running one stops before its next chunk.
+     */
+    synchronized void cancel() {
+        cancelRequested = true;
+        if (status == Status.QUEUED) {
+            finishedAt = Instant.now();
+            status = Status.CANCELLED;
+        }
+    }
+
+    @Override
+    public void onChunkCommitted(String stepName, int updatedCount) {
+        updatedBySteps.get(stepName).addAndGet(updatedCount);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    /**
+     * Point-in-time view of the job: per-step counts, overall rate and estimated time to completion
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("jobId", jobId);
+        snapshot.put("status", status.name());
+        snapshot.put("submittedAt", submittedAt.toString());
+        snapshot.put("startedAt", startedAt == null ? null : startedAt.toString());
+        snapshot.put("finishedAt", finishedAt == null ? null : finishedAt.toString());
+
+        long totalUpdated = 0;
+        long totalExpected = 0;
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : updatedBySteps.entrySet()) {
+            long updated = entry.getValue().get();
+            long expected = expectedBySteps.getOrDefault(entry.getKey(), 0L);
+            totalUpdated += updated;
+            totalExpected += expected;
+
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("updatedCount", updated);
+            step.put("expectedCount", expected);
+            steps.put(entry.getKey(), step);
+        }
+        snapshot.put("totalOrdersUpdated", totalUpdated);
+        snapshot.put("totalOrdersExpected", totalExpected);
+        snapshot.put("steps", steps);
+
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double elapsedSeconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            double rate = totalUpdated / elapsedSeconds;
+            snapshot.put("elapsedSeconds", elapsedSeconds);
+            snapshot.put("ordersPerSecond", Math.round(rate * 10) / 10.0);
+            if (status == Status.RUNNING && rate > 0) {
+                snapshot.put("etaSeconds", Math.round(Math.max(totalExpected - totalUpdated, 0) / rate));
+            }
+        }
+        if (error != null) {
+            snapshot.put("error", error);
+        }
+        if (result != null) {
+            snapshot.put("stepResults", result.get("stepResults"));
+        }
+        return snapshot;
+    }
+
+    boolean isFinished() {
+        return status.isFinished();
+    }
+}
@@ -0,0 +1,217 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.entity.OrderStatus;
+import com.foodybuddy.orders.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Progression Job Service
+ *
+ * Runs bulk status progressions in the background so the HTTP request that starts one returns immediately.
+ *
+ * Key responsibilities:
+ * - Start at most one progression job at a time across all replicas, on the application task executor
+ * - Track per-step progress, rate and ETA for polling clients
+ * - Cancel jobs between chunks, keeping the chunks already committed
+ * - Keep a bounded history of finished jobs in memory
+ *
+ * Only one job runs at a time across replicas: a job holds a Postgres session advisory lock on a
+ * dedicated connection from submission until it finishes, and a submission that cannot take
+ * the lock is rejected. Job progress lives in the memory of the replica that accepted the job, so
+ * polling and cancelling must reach the same replica (sticky sessions).
+ */
+@Service
+public class ProgressionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressionJobService.class);
+    // Advisory lock key shared by every replica; any constant no other feature locks on
+    static final long JOB_LOCK_KEY = 0x6f72646572730001L;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final DataSourceProperties dataSourceProperties;
+    private final TaskExecutor taskExecutor;
+    private final int retainedJobs;
+    private final Map<String, ProgressionJob> jobs = new LinkedHashMap<>();
+
+    public ProgressionJobService(OrderService orderService,
+                                 OrderRepository orderRepository,
+                                 DataSourceProperties dataSourceProperties,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${orders.bulk.jobs.retained:20}") int retainedJobs) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.dataSourceProperties = dataSourceProperties;
+        this.taskExecutor = taskExecutor;
+        this.retainedJobs = retainedJobs;
+        logger.info("ProgressionJobService initialized, retaining up to {} jobs", retainedJobs);
+    }
+
+    /**
+     * Queue a new bulk progression job
+     *
+     * @throws IllegalStateException if another job is still queued or running, on this or another replica
+     * @throws TaskRejectedException if the task executor cannot take the job; nothing is registered then
+     */
+    public synchronized ProgressionJob submit() {
+        Optional<ProgressionJob> activeJob = findActiveJob();
+        if (activeJob.isPresent()) {
+            throw new IllegalStateException("Bulk progression job already in progress: " + activeJob.get().getJobId());
+        }
+        Connection jobLock = tryAcquireJobLock();
+        if (jobLock == null) {
+            throw new IllegalStateException("Bulk progression job already in progress on another replica");
+        }
+
+        ProgressionJob job = new ProgressionJob(UUID.randomUUID().toString());
+        try {
+            taskExecutor.execute(() -> run(job, jobLock));
+        } catch (TaskRejectedException e) {
+            logger.warn("Task executor rejected bulk progression job {}: {}", job.getJobId(), e.getMessage());
+            releaseJobLock(jobLock);
+            throw e;
+        }
+        // Registered once the executor has taken it, so a rejected job cannot block later submissions
+        jobs.put(job.getJobId(), job);
+        evictFinishedJobs();
+
+        logger.info("Queued bulk progression job: {}", job.getJobId());
+        return job;
+    }
+
+    public synchronized Optional<ProgressionJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public synchronized Optional<ProgressionJob> findActiveJob() {
+        return jobs.values().stream().filter(job -> !job.isFinished()).findFirst();
+    }
+
+    public synchronized List<ProgressionJob> findAllJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Request cancellation of a job
+     *
+     * @return the job, or empty if it is unknown
+     */
+    public Optional<ProgressionJob> cancel(String jobId) {
+        Optional<ProgressionJob> job = findJob(jobId);
+        job.ifPresent(j -> {
+            logger.info("Cancelling bulk progression job: {}", jobId);
+            j.cancel();
+        });
+        return job;
+    }
+
+    private void run(ProgressionJob job, Connection jobLock) {
+        try {
+            if (!job.start(countWaitingOrders())) {
+                logger.info("Bulk progression job {} was cancelled before it started", job.getJobId());
+                return;
+            }
+
+            logger.info("Starting bulk progression job: {}", job.getJobId());
+            Map<String, Object> result = orderService.processAllStatusProgressions(job);
+            job.complete(result);
+            logger.info("Bulk progression job {} finished with status {} - Total orders updated: {}",
+                job.getJobId(), job.getStatus(), result.get("totalOrdersUpdated"));
+        } catch (Exception e) {
+            logger.error("Bulk progression job {} failed", job.getJobId(), e);
+            job.fail(e);
+        } finally {
+            releaseJobLock(jobLock);
+        }
+    }
+
+    /**
+     * Take the cluster-wide job lock on a connection of its own, outside the pool: the lock lives as long as
+     * the connection's session, so closing the connection always releases it
+     *
+     * @return the connection holding the lock, or null if a job on another replica holds it
+     */
+    private Connection tryAcquireJobLock() {
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, JOB_LOCK_KEY);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return connection;
+                    }
+                }
+            }
+            releaseJobLock(connection);
+            return null;
+        } catch (SQLException e) {
+            if (connection != null) {
+                releaseJobLock(connection);
+            }
+            throw new DataAccessResourceFailureException("Failed to take the bulk progression job lock", e);
+        }
+    }
+
+    private void releaseJobLock(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close the bulk progression job lock connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Orders waiting in each progression step's source status, used as the job's expected totals
+     */
+    private Map<String, Long> countWaitingOrders() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        try {
+            orderRepository.countByStatus().forEach(row -> {
+                if (row.getStatus() != null) {
+                    counts.put(row.getStatus(), row.getCount());
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("Failed to count orders for progression job estimates: {}", e.getMessage());
+        }
+
+        Map<String, Long> expected = new HashMap<>();
+        for (OrderService.ProgressionStep step : OrderService.PROGRESSION_STEPS) {
+            expected.put(step.name(), counts.getOrDefault(step.fromStatus(), 0L));
+        }
+        return expected;
+    }
+
+    private void evictFinishedJobs() {
+        Iterator<ProgressionJob> iterator = jobs.values().iterator();
+        while (jobs.size() > retainedJobs && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodybuddy.orders.service;
+
+/**
+ * Observes a bulk status progression run chunk by chunk and can stop it between chunks
+ */
+public interface ProgressionListener {
+
+    ProgressionListener NONE = new ProgressionListener() {
+        @Override
+        public void onChunkCommitted(String stepName, int updatedCount) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Called after each committed chunk of a progression step
+     */
+    void onChunkCommitted(String stepName, int updatedCount);
+
+    /**
+     * Checked before every chunk; once true, the run stops and already committed chunks stay committed
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,20 @@
+package com.foodybuddy.orders.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUID order ids, as generated before time-ordered ids were introduced.
+ * Every call draws on the shared SecureRandom, and consecutive ids land on random pages of the order_id index.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.id.generator", havingValue = "random")
+public class RandomOrderIdGenerator implements OrderIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.foodybuddy.orders.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-ordered (version 7, RFC 9562) UUID order ids.
+ *
+ * Key properties:
+ * - Ids start with the creation time in milliseconds, so new orders append to the right edge of the order_id
+ *   index instead of splitting random pages
+ * - Ids from one pod are strictly increasing: the 12 bits after the timestamp count ids within the same
+ *   millisecond, advanced with a CAS loop rather than a lock
+ * - The remaining 62 bits are random, drawn in bulk from a small pool of SecureRandom stripes so ids stay unguessable
+ *   without every thread contending on one generator, or every short-lived virtual thread seeding its own;
+ *   they also keep ids from different pods apart, so no node id is needed
+ */
+@Component
+@ConditionalOnProperty(name = "orders.id.generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedOrderIdGenerator implements OrderIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Last issued (unix millis << 12 | counter)
+    private final AtomicLong lastTimestamp = new AtomicLong();
+    // Power of two of at least twice the processors, so threads running at the same time rarely share a stripe
+    private final RandomBuffer[] randomStripes =
+            newStripes(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1));
+
+    @Override
+    public String nextId() {
+        long timestamp = nextTimestamp();
+        long mostSignificantBits = (timestamp << 4) & 0xFFFFFFFFFFFF0000L // 48-bit millis
+                | 0x7000L                                                // version 7
+                | (timestamp & 0xFFFL);                                  // counter
+        long leastSignificantBits = (randomStripe().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;                                   // IETF variant
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    /**
+     * Creation time encoded in an order id, if it is a version 7 UUID.
+     * Ids from other generators, including random UUIDs issued before this one was enabled, have none.
+     */
+    public static Optional<Instant> timestampOf(String orderId) {
+        try {
+            UUID uuid = UUID.fromString(orderId);
+            if (uuid.version() != 7) {
+                return Optional.empty();
+            }
+            return Optional.of(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Current millisecond and counter, strictly greater than the last one issued. When more than 4096 ids
+     * are issued within a millisecond, or the clock steps back, ids run ahead of the clock until it catches up.
+     */
+    private long nextTimestamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Stripe picked by thread id: a platform thread keeps using the same one, and virtual threads, whose ids
+     * keep increasing, spread over all of them
+     */
+    private RandomBuffer randomStripe() {
+        long threadId = Thread.currentThread().threadId();
+        return randomStripes[(int) (threadId ^ (threadId >>> 16)) & (randomStripes.length - 1)];
+    }
+
+    private static RandomBuffer[] newStripes(int count) {
+        RandomBuffer[] stripes = new RandomBuffer[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new RandomBuffer();
+        }
+        return stripes;
+    }
+
+    /**
+     * Random bits shared by the threads of one stripe, fetched from a SecureRandom a few hundred bytes at a time
+     * since each SecureRandom call has a fixed cost well above that of generating the id itself. Guarded by
+     * a ReentrantLock rather than synchronized so a virtual thread waiting for it does not pin its carrier.
+     */
+    private static final class RandomBuffer {
+
+        private static final int SIZE = 512;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = newRandom();
+        private final ByteBuffer buffer = ByteBuffer.allocate(SIZE).position(SIZE);
+
+        long nextLong() {
+            lock.lock();
+            try {
+                if (!buffer.hasRemaining()) {
+                    random.nextBytes(buffer.array());
+                    buffer.clear();
+                }
+                return buffer.getLong();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static SecureRandom newRandom() {
+            try {
+                // DRBG instances keep their own state, unlike NativePRNG which serializes all threads on one lock
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
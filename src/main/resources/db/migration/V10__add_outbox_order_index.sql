@@ -0,0 +1,5 @@
+-- Per-order delivery order for the gateway notification dispatcher: an event is only claimed once every
+-- earlier event of its order is claimed with it or delivered.
+-- Built CONCURRENTLY so existing tables stay writable; see the matching .conf file.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_order_status_outbox_order_id_id ON order_status_outbox (order_id, id);
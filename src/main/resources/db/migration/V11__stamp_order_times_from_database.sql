@@ -0,0 +1,8 @@
+-- New orders are stamped by the database clock in their INSERT, like every status change, so created_at and
+-- updated_at come from one clock whichever replica writes them. localtimestamp is the start time of the
+-- transaction, so an order's items, inserted in the same transaction, get the same order_created_at and match
+-- the order's partition key.
+
+ALTER TABLE orders ALTER COLUMN created_at SET DEFAULT localtimestamp;
+ALTER TABLE orders ALTER COLUMN updated_at SET DEFAULT localtimestamp;
+ALTER TABLE order_items ALTER COLUMN order_created_at SET DEFAULT localtimestamp;
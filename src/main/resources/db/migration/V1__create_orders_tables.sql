@@ -0,0 +1,32 @@
+-- Baseline schema for the orders service.
+-- Databases that were created by Hibernate ddl-auto are baselined at this version, so this script only runs on empty schemas.
+
+CREATE TABLE orders (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id    VARCHAR(255) NOT NULL,
+    total       FLOAT(53)    NOT NULL,
+    status      VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE order_items (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id     VARCHAR(255) NOT NULL,
+    item_name   VARCHAR(255) NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    price       FLOAT(53)    NOT NULL,
+    order_id    BIGINT,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE order_status_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id        VARCHAR(255)  NOT NULL,
+    status          VARCHAR(255)  NOT NULL,
+    message         VARCHAR(500),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000)
+);
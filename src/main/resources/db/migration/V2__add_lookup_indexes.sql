@@ -0,0 +1,12 @@
+-- Indexes for the hot lookup paths:
+--   findByOrderId on every GET/PUT, status scans in bulk progression, item loading per order
+--   and due-event claims by the gateway notification dispatcher.
+-- Built CONCURRENTLY so existing tables stay writable; see the matching .conf file.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_orders_order_id ON orders (order_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_orders_status_updated_at ON orders (status, updated_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_order_items_order_id ON order_items (order_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_order_status_outbox_next_attempt_at ON order_status_outbox (next_attempt_at);
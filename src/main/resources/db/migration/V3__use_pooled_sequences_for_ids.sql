@@ -0,0 +1,16 @@
+-- Switch id generation from IDENTITY columns to sequences so Hibernate can pre-allocate ids
+-- (pooled optimizer, allocationSize = 50) and batch INSERT statements.
+-- INCREMENT BY must match the allocationSize of the @SequenceGenerator on each entity.
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_status_outbox_seq START WITH 1 INCREMENT BY 50;
+
+-- Start each sequence past the ids already handed out by the identity columns
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) FROM orders) + 50);
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) FROM order_items) + 50);
+SELECT setval('order_status_outbox_seq', (SELECT COALESCE(MAX(id), 0) FROM order_status_outbox) + 50);
+
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_status_outbox ALTER COLUMN id DROP IDENTITY IF EXISTS;
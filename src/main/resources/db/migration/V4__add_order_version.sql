@@ -0,0 +1,4 @@
+-- Optimistic locking: every status change bumps the version, so concurrent writers can detect
+-- that the order changed underneath them.
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Keyset index for the changes feed: orders ordered by (updated_at, id).
+-- Built CONCURRENTLY so existing tables stay writable; see the matching .conf file.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_orders_updated_at_id ON orders (updated_at, id);
@@ -0,0 +1,2 @@
+-- Owner of the order, taken from the create request. Orders created before this column existed have none.
+ALTER TABLE orders ADD COLUMN user_id VARCHAR(255);
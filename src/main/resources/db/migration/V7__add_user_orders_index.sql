@@ -0,0 +1,4 @@
+-- Per-user order history: newest first, keyset-paginated on (created_at, id).
+-- Built CONCURRENTLY so existing tables stay writable; see the matching .conf file.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_orders_user_id_created_at_id ON orders (user_id, created_at DESC, id DESC);
@@ -0,0 +1,37 @@
+-- Cold storage for terminal (DELIVERED / CANCELLED) orders, moved out of the live tables by the archiver.
+-- Partitioned by created_at so old months can be detached or dropped without touching the rest;
+-- rows land in the default partition until monthly partitions are created for them.
+-- Items carry their order's created_at so they are partitioned in lockstep with their order.
+
+CREATE TABLE orders_archive (
+    id          BIGINT       NOT NULL,
+    order_id    VARCHAR(255) NOT NULL,
+    user_id     VARCHAR(255),
+    total       FLOAT(53)    NOT NULL,
+    status      VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    version     BIGINT       NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE orders_archive_default PARTITION OF orders_archive DEFAULT;
+
+CREATE INDEX ix_orders_archive_order_id ON orders_archive (order_id);
+CREATE INDEX ix_orders_archive_user_id_created_at_id ON orders_archive (user_id, created_at DESC, id DESC);
+
+CREATE TABLE order_items_archive (
+    id               BIGINT       NOT NULL,
+    item_id          VARCHAR(255) NOT NULL,
+    item_name        VARCHAR(255) NOT NULL,
+    quantity         INTEGER      NOT NULL,
+    price            FLOAT(53)    NOT NULL,
+    order_id         BIGINT       NOT NULL,
+    order_created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+CREATE TABLE order_items_archive_default PARTITION OF order_items_archive DEFAULT;
+
+CREATE INDEX ix_order_items_archive_order_id ON order_items_archive (order_id);
@@ -0,0 +1,133 @@
+-- Range partition the live orders and order_items tables by month of the order's created_at, which is set when
+-- the order is created and never changes. Old months can then be detached or dropped without touching the rest,
+-- and each month's indexes stay small. Monthly partitions are created ahead of time by the application
+-- (orders.partitions.*); rows outside every monthly partition land in a DEFAULT partition.
+--
+-- Every unique constraint of a partitioned table must include the partition key, so:
+--   - the primary key of orders becomes (id, created_at)
+--   - order items carry their order's created_at (order_created_at) and reference (id, created_at)
+--   - order_id stays unique through order_ids, a non-partitioned table with one row per order id ever issued.
+--     A trigger claims the id in the same transaction as every insert into orders, so a duplicate order id
+--     fails the insert. Archiving moves the order but keeps its claim, so archived ids are never reused.
+--
+-- The live tables are rebuilt and copied under an exclusive lock, and Flyway applies this migration on the first
+-- startup of this version: roll it out in a maintenance window.
+
+LOCK TABLE orders, order_items, orders_archive, order_items_archive IN ACCESS EXCLUSIVE MODE;
+
+CREATE TABLE orders_partitioned (
+    id          BIGINT       NOT NULL,
+    order_id    VARCHAR(255) NOT NULL,
+    user_id     VARCHAR(255),
+    total       FLOAT(53)    NOT NULL,
+    status      VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    version     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT orders_partitioned_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items_partitioned (
+    id               BIGINT       NOT NULL,
+    item_id          VARCHAR(255) NOT NULL,
+    item_name        VARCHAR(255) NOT NULL,
+    quantity         INTEGER      NOT NULL,
+    price            FLOAT(53)    NOT NULL,
+    order_id         BIGINT       NOT NULL,
+    order_created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT order_items_partitioned_pkey PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+-- Archived rows so far all sit in the default partitions, which would block creating monthly partitions
+-- for their months; detach them until their rows have been routed into the monthly partitions below
+ALTER TABLE orders_archive DETACH PARTITION orders_archive_default;
+ALTER TABLE order_items_archive DETACH PARTITION order_items_archive_default;
+
+-- One partition per month from the oldest live or archived order up to three months ahead
+DO $$
+DECLARE
+    month DATE;
+    last_month DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', LEAST(
+               (SELECT MIN(COALESCE(created_at, updated_at)) FROM orders),
+               (SELECT MIN(created_at) FROM orders_archive_default),
+               now()))
+    INTO month;
+
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'orders_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE %I PARTITION OF order_items_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders_archive FOR VALUES FROM (%L) TO (%L)',
+                       'orders_archive_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE %I PARTITION OF order_items_archive FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_archive_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+CREATE TABLE orders_default PARTITION OF orders_partitioned DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items_partitioned DEFAULT;
+
+-- Orders created before created_at was always set fall back to their last update
+INSERT INTO orders_partitioned (id, order_id, user_id, total, status, created_at, updated_at, version)
+SELECT id, order_id, user_id, total, status, COALESCE(created_at, updated_at, now()), updated_at, version
+FROM orders;
+
+-- Items without an order are unreachable and are not carried over
+INSERT INTO order_items_partitioned (id, item_id, item_name, quantity, price, order_id, order_created_at)
+SELECT i.id, i.item_id, i.item_name, i.quantity, i.price, i.order_id, o.created_at
+FROM order_items i
+JOIN orders_partitioned o ON o.id = i.order_id;
+
+CREATE TABLE order_ids (
+    order_id    VARCHAR(255) NOT NULL,
+    id          BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT order_ids_pkey PRIMARY KEY (order_id)
+);
+
+INSERT INTO order_ids (order_id, id, created_at)
+SELECT order_id, id, created_at FROM orders_partitioned
+UNION ALL
+SELECT order_id, id, created_at FROM orders_archive_default;
+
+DROP TABLE order_items;
+DROP TABLE orders;
+
+ALTER TABLE orders_partitioned RENAME TO orders;
+ALTER TABLE orders RENAME CONSTRAINT orders_partitioned_pkey TO orders_pkey;
+ALTER TABLE order_items_partitioned RENAME TO order_items;
+ALTER TABLE order_items RENAME CONSTRAINT order_items_partitioned_pkey TO order_items_pkey;
+
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order
+    FOREIGN KEY (order_id, order_created_at) REFERENCES orders (id, created_at);
+
+CREATE FUNCTION claim_order_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO order_ids (order_id, id, created_at) VALUES (NEW.order_id, NEW.id, NEW.created_at);
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER orders_claim_order_id AFTER INSERT ON orders
+    FOR EACH ROW EXECUTE FUNCTION claim_order_id();
+
+-- The indexes of V2, V5 and V7, now one per partition
+CREATE INDEX ix_orders_order_id ON orders (order_id);
+CREATE INDEX ix_orders_status_updated_at ON orders (status, updated_at);
+CREATE INDEX ix_orders_updated_at_id ON orders (updated_at, id);
+CREATE INDEX ix_orders_user_id_created_at_id ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX ix_order_items_order_id ON order_items (order_id);
+
+INSERT INTO orders_archive SELECT * FROM orders_archive_default;
+TRUNCATE orders_archive_default;
+ALTER TABLE orders_archive ATTACH PARTITION orders_archive_default DEFAULT;
+
+INSERT INTO order_items_archive SELECT * FROM order_items_archive_default;
+TRUNCATE order_items_archive_default;
+ALTER TABLE order_items_archive ATTACH PARTITION order_items_archive_default DEFAULT;
+
+ANALYZE orders;
+ANALYZE order_items;
@@ -0,0 +1,67 @@
+package com.foodybuddy.orders.perf;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency samples and error count for one workload
+ */
+class EndpointStats {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private long elapsedNanos;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", elapsedNanos == 0 ? 0 : round(count / (elapsedNanos / 1e9)));
+        summary.put("p50Millis", percentileMillis(sorted, 0.50));
+        summary.put("p90Millis", percentileMillis(sorted, 0.90));
+        summary.put("p99Millis", percentileMillis(sorted, 0.99));
+        summary.put("maxMillis", sorted.length == 0 ? 0 : round(sorted[sorted.length - 1] / 1e6));
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
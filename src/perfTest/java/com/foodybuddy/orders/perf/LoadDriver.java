@@ -0,0 +1,130 @@
+package com.foodybuddy.orders.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load generator: a fixed number of workers each send the next request
+ * as soon as the previous one has completed, until the request budget is spent.
+ */
+class LoadDriver {
+
+    /**
+     * Callback for successful responses, e.g. to collect ids for later workloads
+     */
+    interface ResponseHandler {
+        void onSuccess(int index, String body) throws Exception;
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int concurrency;
+
+    LoadDriver(String baseUrl, int concurrency) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    HttpRequest get(String path, String ifNoneMatch) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("If-None-Match", ifNoneMatch).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    HttpRequest put(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    /**
+     * Send a single request outside of any workload
+     *
+     * @return the response body
+     * @throws IllegalStateException on an error status
+     */
+    String execute(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Send a single request and return only its status code
+     */
+    int status(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    EndpointStats run(String name, int requests, IntFunction<HttpRequest> requestFactory) throws Exception {
+        return run(name, requests, concurrency, requestFactory, (index, body) -> { });
+    }
+
+    EndpointStats run(String name, int requests, IntFunction<HttpRequest> requestFactory,
+                      ResponseHandler handler) throws Exception {
+        return run(name, requests, concurrency, requestFactory, handler);
+    }
+
+    EndpointStats run(String name, int requests, int workers, IntFunction<HttpRequest> requestFactory,
+                      ResponseHandler handler) throws Exception {
+        EndpointStats stats = new EndpointStats(name);
+        AtomicInteger next = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(workers, requests));
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workerCount)) {
+            List<Future<?>> futures = new ArrayList<>(workerCount);
+            for (int w = 0; w < workerCount; w++) {
+                futures.add(executor.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        send(stats, index, requestFactory.apply(index), handler);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    private void send(EndpointStats stats, int index, HttpRequest request, ResponseHandler handler) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() < 400;
+            stats.record(System.nanoTime() - start, success);
+            if (success) {
+                handler.onSuccess(index, response.body());
+            }
+        } catch (Exception e) {
+            stats.record(System.nanoTime() - start, false);
+        }
+    }
+}
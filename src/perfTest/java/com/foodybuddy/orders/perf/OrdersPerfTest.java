@@ -0,0 +1,273 @@
+package com.foodybuddy.orders.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.foodybuddy.orders.FoodybuddyOrdersApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end performance test for the orders API.
+ *
+ * Boots the service against an embedded Postgres and a stub gateway, drives the create, get,
+ * status update and bulk progression endpoints at a configurable concurrency and reports
+ * p50/p90/p99 latency and throughput per endpoint. A contended scenario additionally checks
+ * that concurrent conflicting status updates to one order never both succeed.
+ *
+ * Settings (system properties, passed as -Pperf.* to the perfTest Gradle task):
+ * - perf.concurrency: concurrent client connections (default 16)
+ * - perf.requests: requests per workload (default 2000)
+ * - perf.warmupRequests: create requests sent before measuring (default 500)
+ * - perf.cartSize: items per created order (default 3)
+ * - perf.largeCartSize: items per order in the large cart create workload, 0 to skip it (default 50)
+ * - perf.bulkIterations: bulk progression jobs, run one after another (default 5)
+ * - perf.contendedRounds: rounds of concurrent conflicting updates to a single order (default 20)
+ * - perf.gatewayLatencyMillis: artificial stub gateway latency (default 0)
+ * - perf.gatewayBatchEndpoint: whether the stub gateway serves the batch notification endpoint (default false)
+ * - perf.logLevel: application log level during the run (default WARN)
+ * - perf.appArgs: extra space-separated application arguments, e.g. --spring.threads.virtual.enabled=true
+ * - perf.reportFile: where to write the JSON results
+ */
+public class OrdersPerfTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("perf.concurrency", 16);
+        int requests = Integer.getInteger("perf.requests", 2000);
+        int warmupRequests = Integer.getInteger("perf.warmupRequests", 500);
+        int cartSize = Integer.getInteger("perf.cartSize", 3);
+        int largeCartSize = Integer.getInteger("perf.largeCartSize", 50);
+        int bulkIterations = Integer.getInteger("perf.bulkIterations", 5);
+        int contendedRounds = Integer.getInteger("perf.contendedRounds", 20);
+        long gatewayLatencyMillis = Long.getLong("perf.gatewayLatencyMillis", 0);
+        boolean gatewayBatchEndpoint = Boolean.getBoolean("perf.gatewayBatchEndpoint");
+        String logLevel = System.getProperty("perf.logLevel", "WARN");
+        String appArgs = System.getProperty("perf.appArgs", "");
+        String reportFile = System.getProperty("perf.reportFile", "build/reports/perf/results.json");
+        // Without TCP_NODELAY the stub gateway's separate header and body writes stall on delayed ACKs,
+        // capping notification delivery at ~25 per second
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        try (StubGateway gateway = new StubGateway(gatewayLatencyMillis, gatewayBatchEndpoint);
+             EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS orders");
+            }
+
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=orders&reWriteBatchedInserts=true",
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--gateway.url=" + gateway.url(),
+                    "--logging.file.name=",
+                    "--logging.level.root=" + logLevel,
+                    "--logging.level.com.foodybuddy.orders=" + logLevel));
+            if (!appArgs.isBlank()) {
+                applicationArgs.addAll(List.of(appArgs.trim().split("\\s+")));
+            }
+
+            ConfigurableApplicationContext context = SpringApplication.run(FoodybuddyOrdersApplication.class,
+                    applicationArgs.toArray(new String[0]));
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadDriver driver = new LoadDriver("http://localhost:" + port, concurrency);
+                System.out.printf("Running perf test: concurrency=%d, requests=%d, cartSize=%d, largeCartSize=%d, appArgs=[%s]%n",
+                        concurrency, requests, cartSize, largeCartSize, appArgs);
+
+                List<EndpointStats> results = runWorkloads(driver, requests, warmupRequests, cartSize, largeCartSize,
+                        bulkIterations, contendedRounds, concurrency);
+                report(results, gateway, reportFile);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static List<EndpointStats> runWorkloads(LoadDriver driver, int requests, int warmupRequests, int cartSize,
+                                                    int largeCartSize, int bulkIterations, int contendedRounds,
+                                                    int concurrency) throws Exception {
+        String createBody = createOrderJson(cartSize);
+        driver.run("warmup", warmupRequests, index -> driver.post("/api/orders", createBody));
+
+        List<EndpointStats> results = new ArrayList<>();
+
+        String[] orderIds = new String[requests];
+        results.add(driver.run("POST /api/orders", requests,
+                index -> driver.post("/api/orders", createBody),
+                (index, body) -> orderIds[index] = objectMapper.readTree(body).path("orderId").asText()));
+        List<String> createdIds = new ArrayList<>();
+        for (String orderId : orderIds) {
+            if (orderId != null) {
+                createdIds.add(orderId);
+            }
+        }
+        if (createdIds.isEmpty()) {
+            throw new IllegalStateException("No orders were created, check the application logs");
+        }
+
+        // Large carts show what batching the item inserts saves per order; these orders stay PENDING
+        if (largeCartSize > 0) {
+            String largeCartBody = createOrderJson(largeCartSize);
+            results.add(driver.run("POST /api/orders (" + largeCartSize + " items)", requests,
+                    index -> driver.post("/api/orders", largeCartBody)));
+        }
+
+        results.add(driver.run("GET /api/orders/{orderId}", requests,
+                index -> driver.get("/api/orders/" + createdIds.get(ThreadLocalRandom.current().nextInt(createdIds.size())))));
+        // Unchanged orders are still at version 0, so every poll is answered with 304
+        results.add(driver.run("GET /api/orders/{orderId} (If-None-Match)", requests,
+                index -> driver.get("/api/orders/" + createdIds.get(ThreadLocalRandom.current().nextInt(createdIds.size())), "\"0\"")));
+
+        // Each created order is confirmed exactly once so every update is a valid transition
+        results.add(driver.run("PUT /api/orders/{orderId}/status", createdIds.size(),
+                index -> driver.put("/api/orders/" + createdIds.get(index) + "/status?status=CONFIRMED")));
+
+        results.add(runBulkProgressionJobs(driver, bulkIterations));
+        results.add(runContendedStatusUpdates(driver, createBody, contendedRounds, concurrency));
+
+        return results;
+    }
+
+    /**
+     * Bulk progression runs as a background job, so each sample covers the whole job from
+     * submission until polling reports it finished
+     */
+    private static EndpointStats runBulkProgressionJobs(LoadDriver driver, int iterations) throws Exception {
+        EndpointStats stats = new EndpointStats("bulk-status-update job");
+        long runStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                String jobId = objectMapper.readTree(driver.execute(driver.post("/api/orders/bulk-status-update", null)))
+                        .path("jobId").asText();
+                String status;
+                do {
+                    Thread.sleep(20);
+                    status = objectMapper.readTree(driver.execute(driver.get("/api/orders/bulk-status-update/" + jobId)))
+                            .path("status").asText();
+                } while ("QUEUED".equals(status) || "RUNNING".equals(status));
+                success = "COMPLETED".equals(status);
+            } catch (Exception e) {
+                success = false;
+            }
+            stats.record(System.nanoTime() - start, success);
+        }
+        stats.setElapsedNanos(System.nanoTime() - runStart);
+        return stats;
+    }
+
+    /**
+     * Hammer single orders with conflicting updates: each round creates an order and fires
+     * {@code concurrency} simultaneous CONFIRMED / CANCELLED updates at it, all expecting PENDING
+     * (kitchen and driver app racing on the same order). Exactly one update per round may win;
+     * every other one must be rejected with 409.
+     */
+    private static EndpointStats runContendedStatusUpdates(LoadDriver driver, String createBody, int rounds,
+                                                           int concurrency) throws Exception {
+        EndpointStats stats = new EndpointStats("PUT status (contended)");
+        int workers = Math.max(concurrency, 2);
+        int lostUpdateRounds = 0;
+        long runStart = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int round = 0; round < rounds; round++) {
+                String orderId = objectMapper.readTree(driver.execute(driver.post("/api/orders", createBody)))
+                        .path("orderId").asText();
+                CountDownLatch startGate = new CountDownLatch(1);
+                AtomicInteger winners = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>(workers);
+                for (int w = 0; w < workers; w++) {
+                    String target = w % 2 == 0 ? "CONFIRMED" : "CANCELLED";
+                    futures.add(executor.submit(() -> {
+                        startGate.await();
+                        long start = System.nanoTime();
+                        int status = driver.status(driver.put("/api/orders/" + orderId + "/status?status=" + target + "&expectedStatus=PENDING"));
+                        stats.record(System.nanoTime() - start, status == 200 || status == 409);
+                        if (status == 200) {
+                            winners.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                startGate.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                if (winners.get() != 1) {
+                    lostUpdateRounds++;
+                }
+            }
+        }
+        stats.setElapsedNanos(System.nanoTime() - runStart);
+        System.out.printf("Contended updates: %d rounds x %d writers, %d rounds without exactly one winner%n",
+                rounds, workers, lostUpdateRounds);
+        return stats;
+    }
+
+    private static String createOrderJson(int cartSize) throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        double total = 0;
+        for (int i = 0; i < cartSize; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("itemId", "item-" + i);
+            item.put("itemName", "Menu item " + i);
+            item.put("quantity", 1 + i % 3);
+            item.put("price", 4.5 + i);
+            total += (4.5 + i) * (1 + i % 3);
+            items.add(item);
+        }
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("userId", "perf-user");
+        order.put("items", items);
+        order.put("totalAmount", total);
+        return objectMapper.writeValueAsString(order);
+    }
+
+    private static void report(List<EndpointStats> results, StubGateway gateway, String reportFile) throws Exception {
+        List<Map<String, Object>> summaries = results.stream().map(EndpointStats::summary).toList();
+
+        System.out.println();
+        System.out.printf("%-44s %9s %7s %11s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map<String, Object> summary : summaries) {
+            System.out.printf("%-44s %9s %7s %11s %9s %9s %9s %9s%n",
+                    summary.get("endpoint"), summary.get("requests"), summary.get("errors"),
+                    summary.get("throughputPerSecond"), summary.get("p50Millis"), summary.get("p90Millis"),
+                    summary.get("p99Millis"), summary.get("maxMillis"));
+        }
+        System.out.printf("Gateway stub received %d notification requests%n", gateway.requestCount());
+
+        File file = new File(reportFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", Map.of(
+                "concurrency", Integer.getInteger("perf.concurrency", 16),
+                "appArgs", System.getProperty("perf.appArgs", "")));
+        report.put("endpoints", summaries);
+        objectMapper.writeValue(file, report);
+        System.out.println("Results written to " + file.getPath());
+    }
+}
@@ -0,0 +1,73 @@
+package com.foodybuddy.orders.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the gateway's status notification endpoints.
+ * Accepts single status notifications, and batches only when the batch endpoint is enabled (the real
+ * gateway does not serve it yet, so by default it answers 404 like the gateway does), optionally after
+ * a fixed delay to mimic gateway latency, and counts what it receives.
+ */
+class StubGateway implements AutoCloseable {
+
+    private static final String STATUS_PATH = "/api/gateway/orders/status";
+    private static final String BATCH_STATUS_PATH = STATUS_PATH + "/batch";
+    private static final byte[] OK_BODY = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final long latencyMillis;
+    private final boolean batchEndpoint;
+    private final AtomicLong requests = new AtomicLong();
+
+    StubGateway(long latencyMillis, boolean batchEndpoint) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.batchEndpoint = batchEndpoint;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext(STATUS_PATH, this::handle);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            if (!path.equals(STATUS_PATH) && !(batchEndpoint && path.equals(BATCH_STATUS_PATH))) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            requests.incrementAndGet();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, OK_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(OK_BODY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.foodybuddy.orders.controller;
+
+import com.foodybuddy.orders.PostgresIntegrationTest;
+import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent conflicting status updates to one order (kitchen and driver app racing on the same order)
+ * must never both succeed: exactly one update wins each round and every other one is rejected with 409.
+ */
+class OrderStatusUpdateConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int ROUNDS = 20;
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void concurrentConflictingUpdatesHaveExactlyOneWinner() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int round = 0; round < ROUNDS; round++) {
+                String orderId = createOrder();
+                CountDownLatch startGate = new CountDownLatch(1);
+                List<Future<ResponseEntity<OrderResponse>>> updates = new ArrayList<>(WRITERS);
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    OrderStatus target = writer % 2 == 0 ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+                    updates.add(executor.submit(() -> {
+                        startGate.await();
+                        return restTemplate.exchange("/api/orders/{orderId}/status?status={status}&expectedStatus=PENDING",
+                                HttpMethod.PUT, null, OrderResponse.class, orderId, target);
+                    }));
+                }
+                startGate.countDown();
+
+                List<ResponseEntity<OrderResponse>> responses = new ArrayList<>(WRITERS);
+                for (Future<ResponseEntity<OrderResponse>> update : updates) {
+                    responses.add(update.get());
+                }
+                List<ResponseEntity<OrderResponse>> winners = responses.stream()
+                        .filter(response -> response.getStatusCode() == HttpStatus.OK)
+                        .toList();
+                assertThat(winners).as("round %d winners", round).hasSize(1);
+                assertThat(responses).as("round %d losers", round)
+                        .filteredOn(response -> response.getStatusCode() == HttpStatus.CONFLICT)
+                        .hasSize(WRITERS - 1);
+
+                OrderResponse winner = winners.get(0).getBody();
+                OrderResponse stored = restTemplate.getForObject("/api/orders/{orderId}", OrderResponse.class, orderId);
+                assertThat(stored.getStatus()).isEqualTo(winner.getStatus());
+                assertThat(stored.getVersion()).isEqualTo(1L);
+            }
+        }
+    }
+
+    private String createOrder() {
+        Map<String, Object> request = Map.of(
+                "userId", "user-1",
+                "totalAmount", 25.0,
+                "items", List.of(Map.of("itemId", "pizza", "itemName", "Pizza", "quantity", 2, "price", 12.5)));
+        OrderResponse order = restTemplate.postForObject("/api/orders", request, OrderResponse.class);
+        assertThat(order).isNotNull();
+        return order.getOrderId();
+    }
+}
@@ -0,0 +1,96 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.PostgresIntegrationTest;
+import com.foodybuddy.orders.dto.CreateOrderRequest;
+import com.foodybuddy.orders.dto.OrderResponse;
+import com.foodybuddy.orders.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two bulk progression runs overlapping in time (one per replica) must not move an order two steps between them:
+ * a run that started first must not pick up the orders the other run moved into the status of its next step.
+ */
+class ConcurrentProgressionRunsTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS_PER_STATUS = 5;
+    private static final List<OrderStatus> LIFECYCLE = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED,
+            OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void overlappingRunsAdvanceEveryOrderExactlyOneStep() throws Exception {
+        Map<String, OrderStatus> initialStatuses = new HashMap<>();
+        for (OrderStatus status : List.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING,
+                OrderStatus.READY, OrderStatus.OUT_FOR_DELIVERY)) {
+            for (int i = 0; i < ORDERS_PER_STATUS; i++) {
+                initialStatuses.put(createOrderIn(status), status);
+            }
+        }
+
+        CountDownLatch firstRunPaused = new CountDownLatch(1);
+        CountDownLatch secondRunDone = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            // The first run starts, commits its first chunk and waits there until the second run is done
+            Future<Map<String, Object>> firstRun = executor.submit(() -> orderService.processAllStatusProgressions(
+                    new ProgressionListener() {
+                        @Override
+                        public void onChunkCommitted(String stepName, int updatedCount) {
+                            if (firstRunPaused.getCount() > 0) {
+                                firstRunPaused.countDown();
+                                await(secondRunDone);
+                            }
+                        }
+
+                        @Override
+                        public boolean isCancelled() {
+                            return false;
+                        }
+                    }));
+            assertThat(firstRunPaused.await(30, TimeUnit.SECONDS)).isTrue();
+
+            Map<String, Object> secondRun = orderService.processAllStatusProgressions(ProgressionListener.NONE);
+            secondRunDone.countDown();
+            assertThat(secondRun.get("success")).isEqualTo(true);
+            assertThat(firstRun.get(30, TimeUnit.SECONDS).get("success")).isEqualTo(true);
+        }
+
+        initialStatuses.forEach((orderId, initialStatus) -> assertThat(orderService.getOrder(orderId).getStatus())
+                .as("status of order %s, initially %s", orderId, initialStatus)
+                .isEqualTo(LIFECYCLE.get(LIFECYCLE.indexOf(initialStatus) + 1)));
+    }
+
+    private String createOrderIn(OrderStatus status) {
+        CreateOrderRequest request = new CreateOrderRequest("progression-user",
+                List.of(new CreateOrderRequest.OrderItemRequest("pizza", "Pizza", 1, 12.5)), 12.5);
+        String orderId = orderService.createOrder(request).getOrderId();
+
+        for (OrderStatus next : LIFECYCLE.subList(1, LIFECYCLE.indexOf(status) + 1)) {
+            OrderResponse updated = orderService.updateOrderStatus(orderId, next, null);
+            assertThat(updated.getStatus()).isEqualTo(next);
+        }
+        return orderId;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.PostgresIntegrationTest;
+import com.foodybuddy.orders.dto.BatchOrderResponse;
+import com.foodybuddy.orders.dto.OrderPage;
+import com.foodybuddy.orders.dto.OrderResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.foodybuddy.orders.StatementCounter.statementsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * A page of orders is loaded with a fixed number of statements, however many orders and items it holds:
+ * no query per order for its items (N+1).
+ * The orders are created once for the whole class and removed again afterwards, since the database is shared.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderPageQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = 1000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final String USER_PREFIX = "page-user-";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Map<String, Object>> requests = new ArrayList<>(ORDERS);
+    private final Map<String, Map<String, Object>> requestsByOrderId = new HashMap<>();
+
+    @BeforeAll
+    void createOrders() {
+        for (int i = 0; i < ORDERS; i++) {
+            List<Map<String, Object>> items = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                items.add(Map.of("itemId", "item-" + i + "-" + item, "itemName", "Item " + item,
+                        "quantity", item + 1, "price", 2.5));
+            }
+            requests.add(Map.of("userId", USER_PREFIX + (i % 10), "totalAmount", 15.0, "items", items));
+        }
+        BatchOrderResponse response = restTemplate.postForObject("/api/orders/batch", requests, BatchOrderResponse.class);
+        assertThat(response.getCreated()).isEqualTo(ORDERS);
+        response.getResults().forEach(result -> requestsByOrderId.put(result.getOrderId(), requests.get(result.getIndex())));
+    }
+
+    @AfterAll
+    void deleteOrders() {
+        jdbcTemplate.update("DELETE FROM order_items i USING orders o"
+                + " WHERE i.order_id = o.id AND i.order_created_at = o.created_at AND o.user_id LIKE ?", USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM order_ids WHERE order_id IN (SELECT order_id FROM orders WHERE user_id LIKE ?)",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id LIKE ?", USER_PREFIX + "%");
+    }
+
+    @Test
+    void ordersPageUsesConstantNumberOfStatements() {
+        // Orders of other test classes sharing the database come before or after the ones created here
+        List<String> expectedOrderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders WHERE user_id LIKE ? ORDER BY id", String.class, USER_PREFIX + "%");
+        Long firstId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM orders WHERE user_id LIKE ?", Long.class, USER_PREFIX + "%");
+        String cursor = String.valueOf(firstId - 1);
+
+        AtomicReference<OrderPage> smallPage = new AtomicReference<>();
+        List<String> smallPageStatements = statementsOf(() -> smallPage.set(orderService.getOrdersPage(cursor, 10)));
+
+        AtomicReference<OrderPage> largePage = new AtomicReference<>();
+        List<String> largePageStatements = statementsOf(() -> largePage.set(orderService.getOrdersPage(cursor, ORDERS)));
+
+        assertThat(smallPage.get().getOrders()).extracting(OrderResponse::getOrderId)
+                .containsExactlyElementsOf(expectedOrderIds.subList(0, 10));
+        assertThat(largePage.get().getOrders()).extracting(OrderResponse::getOrderId)
+                .containsExactlyElementsOf(expectedOrderIds);
+        largePage.get().getOrders().forEach(this::assertMatchesRequest);
+        // Page keys, then the orders of the page with their items
+        assertThat(largePageStatements).hasSize(2).hasSameSizeAs(smallPageStatements);
+    }
+
+    @Test
+    void userOrdersPageUsesConstantNumberOfStatements() {
+        String userId = USER_PREFIX + 1;
+        List<String> expectedOrderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders WHERE user_id = ? ORDER BY created_at DESC, id DESC", String.class, userId);
+        assertThat(expectedOrderIds).hasSize(ORDERS / 10);
+
+        AtomicReference<OrderPage> smallPage = new AtomicReference<>();
+        List<String> smallPageStatements = statementsOf(
+                () -> smallPage.set(orderService.getUserOrdersPage(userId, null, null, 5)));
+
+        AtomicReference<OrderPage> largePage = new AtomicReference<>();
+        List<String> largePageStatements = statementsOf(
+                () -> largePage.set(orderService.getUserOrdersPage(userId, null, null, ORDERS)));
+
+        assertThat(smallPage.get().getOrders()).extracting(OrderResponse::getOrderId)
+                .containsExactlyElementsOf(expectedOrderIds.subList(0, 5));
+        assertThat(largePage.get().getOrders()).extracting(OrderResponse::getOrderId)
+                .containsExactlyElementsOf(expectedOrderIds);
+        largePage.get().getOrders().forEach(this::assertMatchesRequest);
+        // Page keys, then the live orders of the page with their items
+        assertThat(largePageStatements).hasSize(2).hasSameSizeAs(smallPageStatements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertMatchesRequest(OrderResponse order) {
+        Map<String, Object> request = requestsByOrderId.get(order.getOrderId());
+        assertThat(request).as("request of order %s", order.getOrderId()).isNotNull();
+        assertThat(order.getUserId()).isEqualTo(request.get("userId"));
+        assertThat(order.getTotal()).isEqualTo(request.get("totalAmount"));
+        assertThat(order.getItems())
+                .as("items of order %s", order.getOrderId())
+                .hasSize(ITEMS_PER_ORDER)
+                .extracting(item -> tuple(item.getItemId(), item.getItemName(), item.getQuantity(), item.getPrice()))
+                .containsExactlyInAnyOrderElementsOf(((List<Map<String, Object>>) request.get("items")).stream()
+                        .map(item -> tuple(item.get("itemId"), item.get("itemName"), item.get("quantity"), item.get("price")))
+                        .toList());
+    }
+}
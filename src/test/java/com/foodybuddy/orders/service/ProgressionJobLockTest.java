@@ -0,0 +1,81 @@
+package com.foodybuddy.orders.service;
+
+import com.foodybuddy.orders.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Only one bulk progression job runs at a time across replicas: while a job on another replica holds the
+ * job lock a submission is rejected, and a job gives the lock up again once it finishes.
+ */
+class ProgressionJobLockTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ProgressionJobService progressionJobService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void jobIsRejectedWhileAnotherReplicaHoldsTheLock() throws Exception {
+        // Stands in for the lock connection of a job running on another replica
+        try (Connection otherReplica = dataSource.getConnection()) {
+            assertThat(tryLock(otherReplica)).isTrue();
+            assertThat(isLockHeld()).isTrue();
+            try {
+                assertThatThrownBy(() -> progressionJobService.submit())
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("another replica");
+                assertThat(progressionJobService.findActiveJob()).isEmpty();
+            } finally {
+                unlock(otherReplica);
+            }
+        }
+
+        ProgressionJob job = progressionJobService.submit();
+        for (int i = 0; i < 300 && !job.isFinished(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(job.getStatus()).isEqualTo(ProgressionJob.Status.COMPLETED);
+
+        // The lock connection is closed once the job has finished
+        for (int i = 0; i < 50 && isLockHeld(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(isLockHeld()).isFalse();
+    }
+
+    private boolean isLockHeld() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE locktype = 'advisory'"
+                + " AND ((classid::bigint << 32) | objid::bigint) = ?", Long.class, ProgressionJobService.JOB_LOCK_KEY) > 0;
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ProgressionJobService.JOB_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ProgressionJobService.JOB_LOCK_KEY);
+            statement.execute();
+        }
+    }
+}